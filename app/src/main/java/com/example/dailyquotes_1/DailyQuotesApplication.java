@@ -0,0 +1,34 @@
+package com.example.dailyquotes_1;
+
+import android.app.Application;
+
+import com.example.dailyquotes_1.network.RetrofitClient;
+import com.example.dailyquotes_1.util.NetworkUtils;
+import com.example.dailyquotes_1.util.PreferencesManager;
+import com.example.dailyquotes_1.worker.NoteMaintenanceWorker;
+
+/**
+ * Application class for process-wide initialisation.
+ * Initializes preferences and starts warming the shared HTTP client
+ * (client construction plus a pre-connect to the API host) on a background
+ * thread, so the first screen that needs the network does not pay for it.
+ * Also makes sure the daily notes maintenance job is scheduled.
+ */
+public class DailyQuotesApplication extends Application {
+
+    /**
+     * Called when the process starts, before any activity, service or worker.
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        PreferencesManager.init(this);
+        RetrofitClient.init(this);
+
+        // Only open a connection when it can succeed
+        RetrofitClient.warmUp(NetworkUtils.isOnline(this));
+
+        NoteMaintenanceWorker.schedule(this);
+    }
+}
@@ -1,9 +1,24 @@
 package com.example.dailyquotes_1.database;
 
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.RoomDatabase;
+import androidx.room.TypeConverters;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
 
 import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.model.NoteBody;
+import com.example.dailyquotes_1.model.NoteDraft;
+import com.example.dailyquotes_1.model.NoteFts;
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.util.DateFormatter;
+import com.example.dailyquotes_1.util.UuidBytes;
+
+import java.io.IOException;
 
 /**
  * Room Database abstract class defining the database schema.
@@ -12,14 +27,351 @@ import com.example.dailyquotes_1.model.Note;
  * 
  * Version History:
  * - Version 1: Initial schema with notes table
+ * - Version 2: Added quotes table used as an offline page cache
+ * - Version 3: quotes.id changed from TEXT to INTEGER
+ * - Version 4: Added (created_at, id) index on notes for keyset pagination
+ * - Version 5: notes timestamps changed from formatted TEXT to INTEGER epoch millis
+ * - Version 6: Added notes_fts full-text index over notes title and description
+ * - Version 7: notes.id changed from a TEXT UUID to an INTEGER rowid; the UUID
+ *   is kept as a 16-byte BLOB in notes.uuid
+ * - Version 8: Added note_drafts table for autosaved, unsaved edits
+ * - Version 9: Added note_bodies cold storage for compressed note bodies and
+ *   notes.body_cold
+ * - Version 10: Added notes.deleted_at tombstones for soft delete
+ * - Version 11: notes_fts keeps its own copy of the text instead of reading
+ *   it from notes, so cold notes stay fully indexed
  */
-@Database(entities = {Note.class}, version = 1, exportSchema = false)
+@Database(entities = {Note.class, NoteFts.class, NoteDraft.class, NoteBody.class, Quote.class}, version = 11,
+        exportSchema = false)
+@TypeConverters(Converters.class)
 public abstract class AppDatabase extends RoomDatabase {
 
+    /**
+     * Migration from version 1 to 2: creates the quotes cache table.
+     */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `quotes` ("
+                    + "`content` TEXT, "
+                    + "`author` TEXT, "
+                    + "`id` TEXT NOT NULL, "
+                    + "`position` INTEGER NOT NULL, "
+                    + "`cached_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_quotes_position` ON `quotes` (`position`)");
+        }
+    };
+
+    /**
+     * Migration from version 2 to 3: quotes.id becomes an INTEGER primary key.
+     * SQLite cannot change a column type in place, so the table is rebuilt.
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `quotes_new` ("
+                    + "`content` TEXT, "
+                    + "`author` TEXT, "
+                    + "`id` INTEGER NOT NULL, "
+                    + "`position` INTEGER NOT NULL, "
+                    + "`cached_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id`))");
+            db.execSQL("INSERT OR REPLACE INTO `quotes_new` (`content`, `author`, `id`, `position`, `cached_at`) "
+                    + "SELECT `content`, `author`, CAST(`id` AS INTEGER), `position`, `cached_at` FROM `quotes`");
+            db.execSQL("DROP TABLE `quotes`");
+            db.execSQL("ALTER TABLE `quotes_new` RENAME TO `quotes`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_quotes_position` ON `quotes` (`position`)");
+        }
+    };
+
+    /**
+     * Migration from version 3 to 4: indexes the notes sort key so keyset
+     * page queries seek instead of sorting the whole table.
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notes_created_at_id` ON `notes` (`created_at`, `id`)");
+        }
+    };
+
+    /**
+     * Migration from version 4 to 5: notes.created_at / updated_at become
+     * INTEGER epoch millis, both indexed. Rows written in the old
+     * "yyyy-MM-dd HH:mm:ss" local-time format are converted in SQL; rows SQLite
+     * cannot parse (written under a locale with non-ASCII digits) are parsed
+     * with the locale-aware formatter that wrote them.
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `notes_new` ("
+                    + "`id` TEXT NOT NULL, "
+                    + "`title` TEXT, "
+                    + "`description` TEXT, "
+                    + "`created_at` INTEGER NOT NULL, "
+                    + "`updated_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id`))");
+            db.execSQL("INSERT INTO `notes_new` (`id`, `title`, `description`, `created_at`, `updated_at`) "
+                    + "SELECT `id`, `title`, `description`, "
+                    + "IFNULL(CAST(strftime('%s', `created_at`, 'utc') AS INTEGER) * 1000, 0), "
+                    + "IFNULL(CAST(strftime('%s', `updated_at`, 'utc') AS INTEGER) * 1000, 0) "
+                    + "FROM `notes`");
+
+            try (Cursor cursor = db.query("SELECT `id`, `created_at`, `updated_at` FROM `notes` "
+                    + "WHERE strftime('%s', `created_at`) IS NULL OR strftime('%s', `updated_at`) IS NULL")) {
+                while (cursor.moveToNext()) {
+                    long createdAt = DateFormatter.parse(cursor.getString(1), 0);
+                    long updatedAt = DateFormatter.parse(cursor.getString(2), createdAt);
+                    db.execSQL("UPDATE `notes_new` SET `created_at` = ?, `updated_at` = ? WHERE `id` = ?",
+                            new Object[]{createdAt, updatedAt, cursor.getString(0)});
+                }
+            }
+
+            db.execSQL("DROP TABLE `notes`");
+            db.execSQL("ALTER TABLE `notes_new` RENAME TO `notes`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notes_created_at_id` ON `notes` (`created_at`, `id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notes_updated_at` ON `notes` (`updated_at`)");
+        }
+    };
+
+    /**
+     * Creates the sync triggers Room used to keep the external-content
+     * notes_fts of versions 6 to 10 in step with notes. Dropping or
+     * rebuilding the notes table drops them, so the migrations up to 10 that
+     * rebuild notes call this again; MIGRATION_10_11 replaces them.
+     *
+     * @param db Database being migrated
+     */
+    private static void createContentSyncTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_notes_fts_BEFORE_UPDATE "
+                + "BEFORE UPDATE ON `notes` BEGIN DELETE FROM `notes_fts` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_notes_fts_BEFORE_DELETE "
+                + "BEFORE DELETE ON `notes` BEGIN DELETE FROM `notes_fts` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_notes_fts_AFTER_UPDATE "
+                + "AFTER UPDATE ON `notes` BEGIN INSERT INTO `notes_fts`(`docid`, `title`, `description`) "
+                + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_notes_fts_AFTER_INSERT "
+                + "AFTER INSERT ON `notes` BEGIN INSERT INTO `notes_fts`(`docid`, `title`, `description`) "
+                + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+    }
+
+    /**
+     * Creates the triggers that keep notes_fts in step with notes from
+     * version 11 on. They fire only for the indexed columns:
+     * - a new note is indexed
+     * - a changed title is re-indexed
+     * - a changed description is re-indexed unless it is written with
+     *   body_cold = 1, i.e. NoteColdStorage swapping the body for its
+     *   preview; the index keeps the full body
+     * - a deleted note is removed
+     * Writes to any other column never touch the index.
+     *
+     * @param db Database being created or migrated
+     */
+    static void createNotesFtsTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS notes_fts_after_insert "
+                + "AFTER INSERT ON `notes` BEGIN INSERT INTO `notes_fts`(`docid`, `title`, `description`) "
+                + "VALUES (NEW.`id`, NEW.`title`, NEW.`description`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS notes_fts_after_update_title "
+                + "AFTER UPDATE OF `title` ON `notes` WHEN OLD.`title` IS NOT NEW.`title` "
+                + "BEGIN UPDATE `notes_fts` SET `title` = NEW.`title` WHERE `docid` = NEW.`id`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS notes_fts_after_update_description "
+                + "AFTER UPDATE OF `description` ON `notes` "
+                + "WHEN NEW.`body_cold` = 0 AND OLD.`description` IS NOT NEW.`description` "
+                + "BEGIN UPDATE `notes_fts` SET `description` = NEW.`description` WHERE `docid` = NEW.`id`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS notes_fts_after_delete "
+                + "AFTER DELETE ON `notes` BEGIN DELETE FROM `notes_fts` WHERE `docid` = OLD.`id`; END");
+    }
+
+    /**
+     * Creates the notes_fts triggers in a new database; Room creates the
+     * tables but only generates triggers for external-content FTS tables.
+     */
+    public static final Callback CREATE_CALLBACK = new Callback() {
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            createNotesFtsTriggers(db);
+        }
+    };
+
+    /**
+     * Migration from version 5 to 6: creates the notes_fts external-content
+     * full-text table, its sync triggers, and indexes the existing notes.
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `notes_fts` USING FTS4("
+                    + "`title` TEXT, `description` TEXT, tokenize=unicode61, content=`notes`)");
+            createContentSyncTriggers(db);
+            db.execSQL("INSERT INTO `notes_fts`(`notes_fts`) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * Migration from version 6 to 7: notes.id becomes an INTEGER primary key
+     * (the rowid) and the old UUID text moves to notes.uuid as 16 bytes.
+     * Ids are assigned in creation order. Ids that are not UUIDs (possible
+     * for imported notes) get the name-based UUID NoteTransfer would give
+     * them. The table is rebuilt, so the full-text triggers are recreated
+     * and the index is rebuilt for the new rowids.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `notes_new` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`uuid` BLOB NOT NULL, "
+                    + "`title` TEXT, "
+                    + "`description` TEXT, "
+                    + "`created_at` INTEGER NOT NULL, "
+                    + "`updated_at` INTEGER NOT NULL)");
+
+            // Only the ids pass through Java; each row is copied in SQL
+            try (SupportSQLiteStatement copy = db.compileStatement(
+                    "INSERT INTO `notes_new` (`uuid`, `title`, `description`, `created_at`, `updated_at`) "
+                            + "SELECT ?, `title`, `description`, `created_at`, `updated_at` "
+                            + "FROM `notes` WHERE `id` = ?");
+                 Cursor cursor = db.query("SELECT `id` FROM `notes` ORDER BY `created_at`, `id`")) {
+                while (cursor.moveToNext()) {
+                    String id = cursor.getString(0);
+                    copy.bindBlob(1, UuidBytes.fromString(id));
+                    copy.bindString(2, id);
+                    copy.executeInsert();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not close migration statement", e);
+            }
+
+            db.execSQL("DROP TABLE `notes`");
+            db.execSQL("ALTER TABLE `notes_new` RENAME TO `notes`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notes_created_at_id` ON `notes` (`created_at`, `id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notes_updated_at` ON `notes` (`updated_at`)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_notes_uuid` ON `notes` (`uuid`)");
+
+            createContentSyncTriggers(db);
+            db.execSQL("INSERT INTO `notes_fts`(`notes_fts`) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * Migration from version 7 to 8: creates the note_drafts table.
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `note_drafts` ("
+                    + "`note_id` INTEGER NOT NULL, "
+                    + "`title` TEXT, "
+                    + "`description` TEXT, "
+                    + "`saved_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`note_id`))");
+        }
+    };
+
+    /**
+     * Migration from version 8 to 9: adds notes.body_cold and creates the
+     * note_bodies cold storage table. Every body stays inline until
+     * NoteColdStorage moves it.
+     */
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `notes` ADD COLUMN `body_cold` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `note_bodies` ("
+                    + "`note_id` INTEGER NOT NULL, "
+                    + "`body` BLOB NOT NULL, "
+                    + "PRIMARY KEY(`note_id`))");
+        }
+    };
+
+    /**
+     * Migration from version 9 to 10: adds the notes.deleted_at tombstone,
+     * indexed so purging and filtering the few deleted rows is a seek.
+     */
+    public static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `notes` ADD COLUMN `deleted_at` INTEGER");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notes_deleted_at` ON `notes` (`deleted_at`)");
+        }
+    };
+
+    /**
+     * Migration from version 10 to 11: notes_fts becomes a regular FTS4 table
+     * that stores its own text, replacing the external-content table whose
+     * text had to match notes. Cold notes hold only a preview in notes, so
+     * they are indexed with their full body from note_bodies. The triggers
+     * are replaced by ones that fire only when indexed text changes.
+     */
+    public static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_notes_fts_BEFORE_UPDATE");
+            db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_notes_fts_BEFORE_DELETE");
+            db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_notes_fts_AFTER_UPDATE");
+            db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_notes_fts_AFTER_INSERT");
+            db.execSQL("DROP TABLE IF EXISTS `notes_fts`");
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `notes_fts` USING FTS4("
+                    + "`title` TEXT, `description` TEXT, tokenize=unicode61)");
+
+            db.execSQL("INSERT INTO `notes_fts`(`docid`, `title`, `description`) "
+                    + "SELECT `id`, `title`, `description` FROM `notes` WHERE `body_cold` = 0");
+            // Bodies are inflated one at a time; a cold note missing its body keeps the preview
+            try (SupportSQLiteStatement insert = db.compileStatement(
+                    "INSERT INTO `notes_fts`(`docid`, `title`, `description`) VALUES (?, ?, ?)");
+                 Cursor cursor = db.query("SELECT `notes`.`id`, `notes`.`title`, `notes`.`description`, "
+                         + "`note_bodies`.`body` FROM `notes` "
+                         + "LEFT JOIN `note_bodies` ON `note_bodies`.`note_id` = `notes`.`id` "
+                         + "WHERE `notes`.`body_cold` = 1")) {
+                while (cursor.moveToNext()) {
+                    insert.clearBindings();
+                    insert.bindLong(1, cursor.getLong(0));
+                    if (!cursor.isNull(1)) {
+                        insert.bindString(2, cursor.getString(1));
+                    }
+                    if (!cursor.isNull(3)) {
+                        insert.bindString(3, NoteColdStorage.decompress(cursor.getBlob(3)));
+                    } else if (!cursor.isNull(2)) {
+                        insert.bindString(3, cursor.getString(2));
+                    }
+                    insert.executeInsert();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not close migration statement", e);
+            }
+
+            createNotesFtsTriggers(db);
+        }
+    };
+
     /**
      * Provides access to the NoteDao for database operations.
      *
      * @return NoteDao instance for interacting with the notes table
      */
     public abstract NoteDao noteDao();
+
+    /**
+     * Provides access to the NoteDraftDao for autosaved drafts.
+     *
+     * @return NoteDraftDao instance for interacting with the note_drafts table
+     */
+    public abstract NoteDraftDao noteDraftDao();
+
+    /**
+     * Provides access to the NoteBodyDao for cold note bodies.
+     *
+     * @return NoteBodyDao instance for interacting with the note_bodies table
+     */
+    public abstract NoteBodyDao noteBodyDao();
+
+    /**
+     * Provides access to the QuoteDao for the quotes cache.
+     *
+     * @return QuoteDao instance for interacting with the quotes table
+     */
+    public abstract QuoteDao quoteDao();
 }
@@ -0,0 +1,35 @@
+package com.example.dailyquotes_1.database;
+
+import androidx.room.TypeConverter;
+
+import java.util.Date;
+
+/**
+ * Room type converters.
+ * Dates are stored as INTEGER epoch milliseconds, so they sort and compare
+ * numerically and can use indexes for range queries.
+ */
+public class Converters {
+
+    /**
+     * Converts a stored timestamp to a Date.
+     *
+     * @param epochMillis Milliseconds since the epoch, or null
+     * @return The Date, or null
+     */
+    @TypeConverter
+    public static Date toDate(Long epochMillis) {
+        return epochMillis == null ? null : new Date(epochMillis);
+    }
+
+    /**
+     * Converts a Date to a stored timestamp.
+     *
+     * @param date The Date, or null
+     * @return Milliseconds since the epoch, or null
+     */
+    @TypeConverter
+    public static Long fromDate(Date date) {
+        return date == null ? null : date.getTime();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.dailyquotes_1.database;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Gives the pages freed by deletes back to the file system and keeps the
+ * query planner statistics fresh.
+ *
+ * SQLite only shrinks the file with auto_vacuum set, and switching an
+ * existing database to INCREMENTAL takes one full VACUUM; after that,
+ * incrementalVacuum() releases free pages in bounded steps instead of
+ * rewriting the whole file.
+ *
+ * Methods write the database and must run on the database write thread,
+ * outside a transaction.
+ */
+public class DatabaseCompaction {
+
+    // PRAGMA auto_vacuum value for INCREMENTAL
+    private static final long AUTO_VACUUM_INCREMENTAL = 2;
+
+    private final AppDatabase database;
+
+    /**
+     * Constructor.
+     *
+     * @param database The app database
+     */
+    public DatabaseCompaction(AppDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Switches the database to incremental auto-vacuum if it is not yet,
+     * with the one full VACUUM that takes. Cheap once done.
+     *
+     * @return true if the full VACUUM ran
+     */
+    public boolean enableIncrementalVacuum() {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        if (queryLong(db, "PRAGMA auto_vacuum") == AUTO_VACUUM_INCREMENTAL) {
+            return false;
+        }
+        db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+        db.execSQL("VACUUM");
+        return true;
+    }
+
+    /**
+     * Gets the number of unused pages in the file.
+     *
+     * @return Free page count
+     */
+    public long getFreePageCount() {
+        return queryLong(database.getOpenHelper().getWritableDatabase(), "PRAGMA freelist_count");
+    }
+
+    /**
+     * Releases up to maxPages free pages at the end of the file. Does
+     * nothing before enableIncrementalVacuum() has run.
+     *
+     * @param maxPages Upper bound on the pages released by this call
+     * @return Number of pages released; 0 when there are none left
+     */
+    public long incrementalVacuum(int maxPages) {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        long before = queryLong(db, "PRAGMA freelist_count");
+        if (before == 0) {
+            return 0;
+        }
+        drain(db, "PRAGMA incremental_vacuum(" + maxPages + ")");
+        return before - queryLong(db, "PRAGMA freelist_count");
+    }
+
+    /**
+     * Lets SQLite refresh the planner statistics of tables that changed a lot.
+     */
+    public void optimize() {
+        drain(database.getOpenHelper().getWritableDatabase(), "PRAGMA optimize");
+    }
+
+    /**
+     * Runs a PRAGMA that returns one number.
+     *
+     * @param db Database
+     * @param sql The PRAGMA
+     * @return The value, or 0 if no row came back
+     */
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    /**
+     * Runs a statement to completion through a cursor. Some PRAGMAs do their
+     * work one step at a time (incremental_vacuum frees a page per step), so
+     * each step must be taken.
+     *
+     * @param db Database
+     * @param sql The statement
+     */
+    private static void drain(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            while (cursor.moveToNext()) {
+                // Nothing to read
+            }
+        }
+    }
+}
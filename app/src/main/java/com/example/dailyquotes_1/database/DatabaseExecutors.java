@@ -0,0 +1,194 @@
+package com.example.dailyquotes_1.database;
+
+import android.content.Context;
+import android.os.Process;
+
+import androidx.lifecycle.LifecycleOwner;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide executors for database work.
+ *
+ * SQLite in WAL mode allows readers to run alongside the single writer, so
+ * work is split into two lanes: a few read threads and one write thread.
+ * Reads never queue behind a long write, and writes are applied one at a
+ * time in submission order. Each lane has one priority queue in which
+ * UI-priority work is taken before background work.
+ *
+ * The lanes are shared by every screen and worker, so the number of threads
+ * stays the same however many activities have been opened. Screens submit
+ * through a TaskScope (see scope()) so their pending reads are dropped when
+ * they are destroyed.
+ */
+public class DatabaseExecutors {
+
+    /**
+     * Queue priority. UI work is waiting on a visible screen.
+     */
+    public enum Priority {
+        UI, BACKGROUND
+    }
+
+    private static final int READ_THREADS = 2;
+    private static final String METRICS_FILE_NAME = "db_executor_metrics.txt";
+
+    private static volatile DatabaseExecutors instance;
+
+    private final PriorityLane readLane;
+    private final PriorityLane writeLane;
+
+    /**
+     * Constructor.
+     *
+     * @param readThreads Number of read threads
+     * @param threadFactory Creates the threads of both lanes
+     */
+    DatabaseExecutors(int readThreads, ThreadFactory threadFactory) {
+        this.readLane = new PriorityLane("read", readThreads, threadFactory);
+        this.writeLane = new PriorityLane("write", 1, threadFactory);
+    }
+
+    /**
+     * Gets or creates the shared executors using double-checked locking.
+     *
+     * @return DatabaseExecutors singleton instance
+     */
+    public static DatabaseExecutors getInstance() {
+        if (instance == null) {
+            synchronized (DatabaseExecutors.class) {
+                if (instance == null) {
+                    instance = new DatabaseExecutors(READ_THREADS, new DatabaseThreadFactory());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a scope for a screen, cancelled when the owner is destroyed.
+     * Must be called on the main thread.
+     *
+     * @param owner Activity (or other lifecycle owner) the work belongs to
+     * @return A new TaskScope
+     */
+    public TaskScope scope(LifecycleOwner owner) {
+        TaskScope scope = new TaskScope(this);
+        owner.getLifecycle().addObserver(scope);
+        return scope;
+    }
+
+    /**
+     * Queues a read that is not tied to a screen.
+     *
+     * @param priority Queue priority
+     * @param task The read
+     */
+    public void executeRead(Priority priority, Runnable task) {
+        readLane.execute(priority, task, null);
+    }
+
+    /**
+     * Queues a write that is not tied to a screen.
+     *
+     * @param priority Queue priority
+     * @param task The write
+     */
+    public void executeWrite(Priority priority, Runnable task) {
+        writeLane.execute(priority, task, null);
+    }
+
+    /**
+     * Runs a background-priority read and waits for its result.
+     * For callers that are already on a background thread, such as workers.
+     *
+     * @param query The read
+     * @param <T> Result type
+     * @return The query result
+     * @throws ExecutionException if the query threw
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public <T> T read(Callable<T> query) throws ExecutionException, InterruptedException {
+        FutureTask<T> future = new FutureTask<>(query);
+        executeRead(Priority.BACKGROUND, future);
+        return future.get();
+    }
+
+    /**
+     * Runs a background-priority write and waits for its result.
+     * For callers that are already on a background thread, such as workers.
+     *
+     * @param update The write
+     * @param <T> Result type
+     * @return The write's result
+     * @throws ExecutionException if the write threw
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public <T> T write(Callable<T> update) throws ExecutionException, InterruptedException {
+        FutureTask<T> future = new FutureTask<>(update);
+        executeWrite(Priority.BACKGROUND, future);
+        return future.get();
+    }
+
+    public PriorityLane getReadLane() {
+        return readLane;
+    }
+
+    public PriorityLane getWriteLane() {
+        return writeLane;
+    }
+
+    /**
+     * Writes a human readable report of both lanes.
+     *
+     * @param writer Destination
+     * @throws IOException if writing fails
+     */
+    public void dump(Writer writer) throws IOException {
+        readLane.dump(writer);
+        writeLane.dump(writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the lane metrics to the app's cache directory, replacing any
+     * previous dump. The file is written on the read lane.
+     *
+     * @param context Any context
+     */
+    public static void dumpMetrics(Context context) {
+        File file = new File(context.getApplicationContext().getCacheDir(), METRICS_FILE_NAME);
+        DatabaseExecutors executors = getInstance();
+        executors.executeRead(Priority.BACKGROUND, () -> {
+            try (Writer writer = new FileWriter(file)) {
+                executors.dump(writer);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Names threads "db-1", "db-2", ... and runs them at background priority
+     * so database work does not compete with the UI thread for the CPU.
+     */
+    private static class DatabaseThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "db-" + count.incrementAndGet());
+        }
+    }
+}
@@ -36,7 +36,14 @@ public class DatabaseProvider {
                             context.getApplicationContext(),
                             AppDatabase.class,
                             "daily_quotes_database"
-                    ).build();
+                    )
+                            .addMigrations(AppDatabase.MIGRATION_1_2, AppDatabase.MIGRATION_2_3,
+                                    AppDatabase.MIGRATION_3_4, AppDatabase.MIGRATION_4_5,
+                                    AppDatabase.MIGRATION_5_6, AppDatabase.MIGRATION_6_7,
+                                    AppDatabase.MIGRATION_7_8, AppDatabase.MIGRATION_8_9,
+                                    AppDatabase.MIGRATION_9_10, AppDatabase.MIGRATION_10_11)
+                            .addCallback(AppDatabase.CREATE_CALLBACK)
+                            .build();
                 }
             }
         }
@@ -0,0 +1,64 @@
+package com.example.dailyquotes_1.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.dailyquotes_1.model.NoteBody;
+
+import java.util.List;
+
+/**
+ * Room Data Access Object (DAO) interface for cold note bodies.
+ * Written together with the notes row: by NoteColdStorage when a body moves
+ * here, and by NoteRepository / NoteTombstones when a cold note is
+ * rewritten or purged.
+ */
+@Dao
+public interface NoteBodyDao {
+
+    /**
+     * Stores the compressed body of a note, replacing any previous one.
+     *
+     * @param body The body
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertBody(NoteBody body);
+
+    /**
+     * Retrieves the compressed body of a note.
+     *
+     * @param noteId The ID of the note
+     * @return The body, or null if the note is not in cold storage
+     */
+    @Query("SELECT * FROM note_bodies WHERE note_id = :noteId")
+    NoteBody getBody(long noteId);
+
+    /**
+     * Retrieves the compressed bodies of several notes.
+     *
+     * @param noteIds Note ids
+     * @return The bodies found, in no particular order
+     */
+    @Query("SELECT * FROM note_bodies WHERE note_id IN (:noteIds)")
+    List<NoteBody> getBodies(List<Long> noteIds);
+
+    /**
+     * Deletes the body of a note.
+     *
+     * @param noteId The ID of the note
+     * @return Number of rows deleted
+     */
+    @Query("DELETE FROM note_bodies WHERE note_id = :noteId")
+    int deleteBody(long noteId);
+
+    /**
+     * Deletes the bodies of several notes; notes without one are skipped.
+     *
+     * @param noteIds Note ids
+     * @return Number of rows deleted
+     */
+    @Query("DELETE FROM note_bodies WHERE note_id IN (:noteIds)")
+    int deleteBodies(List<Long> noteIds);
+}
@@ -0,0 +1,208 @@
+package com.example.dailyquotes_1.database;
+
+import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.model.NoteBody;
+import com.example.dailyquotes_1.model.NoteSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Split storage of note bodies. Long bodies, and bodies of notes nobody has
+ * edited for COLD_AFTER_MS, move out of the notes table into note_bodies,
+ * DEFLATE compressed. The notes row keeps its title and, in description, the
+ * list preview, so list and scan queries read far fewer pages; the body is
+ * only inflated when a single note is opened or exported.
+ *
+ * notes_fts keeps its own copy of the text, and its triggers do not re-index
+ * a description written together with body_cold = 1 (see
+ * AppDatabase.createNotesFtsTriggers). Swapping a body for its preview
+ * therefore leaves the full body indexed, so search and snippets still see
+ * words past the preview. Writing a new body inline (an edit or an import)
+ * clears body_cold, is re-indexed, and must delete the note_bodies row in
+ * the same transaction.
+ *
+ * Methods run database queries and must be called off the main thread.
+ */
+public class NoteColdStorage {
+
+    /** Bodies longer than this many characters are moved when saved. */
+    public static final int LARGE_BODY_LENGTH = 2048;
+    /** Bodies of notes not edited for this long are moved by moveColdBodies(). */
+    public static final long COLD_AFTER_MS = TimeUnit.DAYS.toMillis(30);
+
+    // Notes moved per call of moveColdBodies()
+    private static final int BATCH_SIZE = 100;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final AppDatabase database;
+    private final NoteDao noteDao;
+    private final NoteBodyDao bodyDao;
+
+    /**
+     * Constructor.
+     *
+     * @param database The app database
+     */
+    public NoteColdStorage(AppDatabase database) {
+        this.database = database;
+        this.noteDao = database.noteDao();
+        this.bodyDao = database.noteBodyDao();
+    }
+
+    /**
+     * Tells whether a body is long enough to be moved as soon as it is saved.
+     *
+     * @param description Note description
+     * @return true if it should go to cold storage
+     */
+    public static boolean isLarge(String description) {
+        return description != null && description.length() > LARGE_BODY_LENGTH;
+    }
+
+    /**
+     * Cuts a body to the list preview kept in the notes row: the same first
+     * NoteSummary.PREVIEW_LENGTH characters the list query would show.
+     *
+     * @param description Note description
+     * @return The preview, or the description itself if it is not longer
+     */
+    static String preview(String description) {
+        if (description.codePointCount(0, description.length()) <= NoteSummary.PREVIEW_LENGTH) {
+            return description;
+        }
+        return description.substring(0, description.offsetByCodePoints(0, NoteSummary.PREVIEW_LENGTH));
+    }
+
+    /**
+     * Compresses a body for note_bodies.
+     *
+     * @param description Note description
+     * @return UTF-8 bytes, DEFLATE compressed with the zlib wrapper
+     */
+    static byte[] compress(String description) {
+        byte[] input = description.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 64);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Restores a body written by compress().
+     *
+     * @param body Compressed bytes
+     * @return Note description
+     * @throws IllegalStateException if the bytes are not a complete DEFLATE stream
+     */
+    static String decompress(byte[] body) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(body);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && !inflater.finished()
+                        && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated note body");
+                }
+                out.write(buffer, 0, length);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt note body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Replaces the preview of each cold note with its full body. Call in the
+     * same transaction as the read, so a concurrent edit cannot remove a
+     * body in between.
+     *
+     * @param notes Notes just read from NoteDao
+     */
+    public void restoreBodies(List<Note> notes) {
+        List<Long> coldIds = new ArrayList<>();
+        for (Note note : notes) {
+            if (note.isBodyCold()) {
+                coldIds.add(note.getId());
+            }
+        }
+        if (coldIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, byte[]> bodies = new HashMap<>();
+        for (NoteBody body : bodyDao.getBodies(coldIds)) {
+            bodies.put(body.getNoteId(), body.getBody());
+        }
+        for (Note note : notes) {
+            byte[] body = note.isBodyCold() ? bodies.get(note.getId()) : null;
+            if (body != null) {
+                note.setDescription(decompress(body));
+            }
+        }
+    }
+
+    /**
+     * Moves the bodies of the given notes to cold storage. Notes that are
+     * already cold, gone, or no longer than the preview are skipped.
+     *
+     * @param noteIds Note ids
+     * @return Number of notes moved
+     */
+    public int moveToCold(List<Long> noteIds) {
+        return database.runInTransaction(() -> {
+            int moved = 0;
+            for (long noteId : noteIds) {
+                Note note = noteDao.getNoteById(noteId);
+                if (note == null || note.isBodyCold() || note.getDescription() == null) {
+                    continue;
+                }
+                String preview = preview(note.getDescription());
+                if (preview.length() < note.getDescription().length()) {
+                    bodyDao.insertBody(new NoteBody(noteId, compress(note.getDescription())));
+                    noteDao.setColdPreview(noteId, preview);
+                    moved++;
+                }
+            }
+            return moved;
+        });
+    }
+
+    /**
+     * Moves the next batch of bodies that qualify (see
+     * NoteDao.getColdBodyCandidates) to cold storage, in one transaction.
+     * Call until it returns 0, e.g. once per write-lane task so other
+     * writes can run in between batches.
+     *
+     * @param now Current epoch millis
+     * @return Number of notes moved; 0 when there is nothing left to move
+     */
+    public int moveColdBodies(long now) {
+        List<Long> ids = noteDao.getColdBodyCandidates(LARGE_BODY_LENGTH, now - COLD_AFTER_MS, BATCH_SIZE);
+        // Candidates that cannot be moved return 0 as well, so callers stop
+        return ids.isEmpty() ? 0 : moveToCold(ids);
+    }
+}
@@ -1,23 +1,45 @@
 package com.example.dailyquotes_1.database;
 
 import androidx.room.Dao;
-import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
-import androidx.room.Update;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
 
 import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.model.NoteFtsMatch;
+import com.example.dailyquotes_1.model.NoteSearchResult;
+import com.example.dailyquotes_1.model.NoteSummary;
+import com.example.dailyquotes_1.util.UuidBytes;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Room Data Access Object (DAO) interface for Note entity.
  * Provides abstract methods for CRUD operations on the notes table.
  * Methods will be implemented by Room at compile time.
+ *
+ * Deleted notes keep their row with deleted_at set until they are purged;
+ * every list, search, export and count query below skips them. The filter
+ * is written +deleted_at so SQLite keeps using the sort-key index rather
+ * than the deleted_at index, which matches almost every row.
  */
 @Dao
 public interface NoteDao {
 
+    /**
+     * Columns of a NoteSummary: the description is cut to a preview in SQL,
+     * so list queries never copy whole note bodies into the cursor window.
+     */
+    String SUMMARY_COLUMNS = "notes.id, notes.uuid, notes.title, "
+            + "substr(notes.description, 1, " + NoteSummary.PREVIEW_LENGTH + ") AS preview, "
+            + "notes.created_at, notes.updated_at";
+
     /**
      * Inserts a single note into the database.
      *
@@ -28,64 +50,304 @@ public interface NoteDao {
     long insertNote(Note note);
 
     /**
-     * Updates an existing note in the database.
+     * Replaces the text of an existing note with a single UPDATE of just the
+     * edited columns, without reading the row first. The body is written
+     * inline, so a cold note becomes hot; its note_bodies row must be
+     * deleted in the same transaction.
      *
-     * @param note The note to update
+     * @param noteId The ID of the note to update
+     * @param title New title
+     * @param description New description
+     * @param updatedAt Epoch millis of the edit
+     * @return Number of rows updated (0 if the note no longer exists)
+     */
+    @Query("UPDATE notes SET title = :title, description = :description, body_cold = 0, "
+            + "updated_at = :updatedAt WHERE id = :noteId")
+    int updateNoteContent(long noteId, String title, String description, long updatedAt);
+
+    /**
+     * Replaces the inline body of a note with its list preview once the body
+     * is in note_bodies. The full-text triggers skip cold rows, so the index
+     * keeps the full body.
+     *
+     * @param noteId The ID of the note
+     * @param preview The preview (see NoteColdStorage)
      * @return Number of rows updated
      */
-    @Update
-    int updateNote(Note note);
+    @Query("UPDATE notes SET description = :preview, body_cold = 1 WHERE id = :noteId")
+    int setColdPreview(long noteId, String preview);
 
     /**
-     * Deletes a specific note from the database.
+     * Inserts or updates a batch of notes (matched by id) in one transaction.
+     * Unlike INSERT OR REPLACE, existing rows are updated rather than deleted
+     * and re-inserted, so the full-text index triggers stay in step.
      *
-     * @param note The note to delete
-     * @return Number of rows deleted
+     * @param notes The notes to write
+     */
+    @Upsert
+    void upsertNotes(List<Note> notes);
+
+    /**
+     * Inserts or updates a batch of notes matched by UUID, in one transaction.
+     * Used for notes from outside this database (e.g. an import), whose ids
+     * mean nothing here: each note gets the id of the row with its UUID, or
+     * a new id if there is none. If the batch repeats a UUID the last one wins.
+     *
+     * @param notes The notes to write; their ids are overwritten
+     * @return Ids of the existing rows that were updated
      */
-    @Delete
-    int deleteNote(Note note);
+    @Transaction
+    default List<Long> upsertNotesByUuid(List<Note> notes) {
+        Map<String, Note> byUuid = new LinkedHashMap<>();
+        List<Long> existingIds = new ArrayList<>();
+        for (Note note : notes) {
+            Long id = getIdByUuid(note.getUuid());
+            if (id != null) {
+                existingIds.add(id);
+            }
+            note.setId(id != null ? id : 0);
+            byUuid.put(UuidBytes.toString(note.getUuid()), note);
+        }
+        upsertNotes(new ArrayList<>(byUuid.values()));
+        return existingIds;
+    }
 
     /**
-     * Deletes a note by its ID.
+     * Permanently deletes a batch of notes by ID. Their cold bodies and
+     * drafts are not deleted here (see NoteTombstones.purge).
      *
-     * @param noteId The ID of the note to delete
+     * @param noteIds The IDs of the notes to delete
      * @return Number of rows deleted
      */
-    @Query("DELETE FROM notes WHERE id = :noteId")
-    int deleteNoteById(String noteId);
+    @Query("DELETE FROM notes WHERE id IN (:noteIds)")
+    int deleteNotesByIds(List<Long> noteIds);
+
+    /**
+     * Marks a live note as deleted. Leaves the text alone, so the full-text
+     * triggers do not fire.
+     *
+     * @param noteId The ID of the note
+     * @param deletedAt Epoch millis of the delete
+     * @return Number of rows updated (0 if the note is gone or already deleted)
+     */
+    @Query("UPDATE notes SET deleted_at = :deletedAt WHERE id = :noteId AND deleted_at IS NULL")
+    int markDeleted(long noteId, long deletedAt);
+
+    /**
+     * Clears the deleted mark of a note not yet purged (see markDeleted).
+     *
+     * @param noteId The ID of the note
+     * @return Number of rows updated (0 if the note is gone or not deleted)
+     */
+    @Query("UPDATE notes SET deleted_at = NULL WHERE id = :noteId AND deleted_at IS NOT NULL")
+    int clearDeleted(long noteId);
+
+    /**
+     * Finds notes deleted before a point in time, served by the deleted_at index.
+     *
+     * @param deletedBefore Epoch millis; notes deleted earlier are returned
+     * @param limit Maximum number of ids
+     * @return Ids of the deleted notes
+     */
+    @Query("SELECT id FROM notes WHERE deleted_at < :deletedBefore LIMIT :limit")
+    List<Long> getDeletedNoteIds(long deletedBefore, int limit);
 
     /**
      * Retrieves all notes from the database.
      * Returns a regular List (not Flow) for Java implementation.
+     * Loads every row; the notes screen pages with the keyset queries instead.
      *
      * @return List of all notes sorted by creation date (newest first)
      */
-    @Query("SELECT * FROM notes ORDER BY created_at DESC")
+    @Query("SELECT * FROM notes WHERE +deleted_at IS NULL ORDER BY created_at DESC, id DESC")
     List<Note> getAllNotes();
 
     /**
-     * Retrieves a specific note by its ID.
+     * Retrieves summaries of the newest notes, the first page of the notes list.
+     * The list is ordered by (created_at, id) descending; id breaks ties so
+     * the order is total and keyset cursors never skip or repeat a row.
+     *
+     * @param limit Maximum number of notes
+     * @return Up to limit notes, newest first
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM notes WHERE +deleted_at IS NULL "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    List<NoteSummary> getFirstNotesPage(int limit);
+
+    /**
+     * Retrieves the page of notes that follows a key in list order (older notes).
+     *
+     * @param createdAt created_at of the last note already loaded
+     * @param id id of the last note already loaded
+     * @param limit Maximum number of notes
+     * @return Up to limit notes after the key, newest first
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM notes "
+            + "WHERE (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) AND +deleted_at IS NULL "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    List<NoteSummary> getNotesAfter(long createdAt, long id, int limit);
+
+    /**
+     * Retrieves the page of notes that precedes a key in list order (newer notes).
+     * Rows come back in ascending order, nearest to the key first.
+     *
+     * @param createdAt created_at of the first note already loaded
+     * @param id id of the first note already loaded
+     * @param limit Maximum number of notes
+     * @return Up to limit notes before the key, oldest first
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM notes "
+            + "WHERE (created_at > :createdAt OR (created_at = :createdAt AND id > :id)) AND +deleted_at IS NULL "
+            + "ORDER BY created_at ASC, id ASC LIMIT :limit")
+    List<NoteSummary> getNotesBefore(long createdAt, long id, int limit);
+
+    /**
+     * Retrieves notes starting at a key (inclusive), used to reload the
+     * current window in place.
+     *
+     * @param createdAt created_at of the first note in the window
+     * @param id id of the first note in the window
+     * @param limit Maximum number of notes
+     * @return Up to limit notes from the key, newest first
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM notes "
+            + "WHERE (created_at < :createdAt OR (created_at = :createdAt AND id <= :id)) AND +deleted_at IS NULL "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    List<NoteSummary> getNotesFrom(long createdAt, long id, int limit);
+
+    /**
+     * Retrieves full notes after a key in list order, for walking the whole
+     * table in bounded batches (e.g. export). Start with Long.MAX_VALUE for both.
+     *
+     * @param createdAt created_at of the last note already read
+     * @param id id of the last note already read
+     * @param limit Maximum number of notes
+     * @return Up to limit notes after the key, newest first
+     */
+    @Query("SELECT * FROM notes "
+            + "WHERE (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) AND +deleted_at IS NULL "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    List<Note> getFullNotesAfter(long createdAt, long id, int limit);
+
+    /**
+     * Retrieves notes created in a time range, newest first.
+     * Served by the created_at index rather than a full-table scan.
+     *
+     * @param from Start of the range (inclusive)
+     * @param to End of the range (exclusive)
+     * @return Notes created in [from, to)
+     */
+    @Query("SELECT * FROM notes WHERE created_at >= :from AND created_at < :to AND +deleted_at IS NULL "
+            + "ORDER BY created_at DESC, id DESC")
+    List<Note> getNotesCreatedBetween(Date from, Date to);
+
+    /**
+     * Retrieves notes modified since a point in time, most recently updated first.
+     *
+     * @param since Lower bound (exclusive) on updated_at
+     * @return Notes updated after since
+     */
+    @Query("SELECT * FROM notes WHERE updated_at > :since AND +deleted_at IS NULL ORDER BY updated_at DESC")
+    List<Note> getNotesUpdatedSince(Date since);
+
+    /**
+     * Finds every full-text match of a query with its ranking data.
+     * Reads only the FTS index, not the note text; deleted notes stay
+     * indexed until purged and are excluded through the deleted_at index.
+     *
+     * @param match FTS MATCH expression (see NoteSearch.toMatchQuery)
+     * @return rowid and matchinfo of each matching note
+     */
+    @Query("SELECT docid AS row_id, matchinfo(notes_fts, '" + NoteSearch.MATCHINFO_FORMAT + "') AS match_info "
+            + "FROM notes_fts WHERE notes_fts MATCH :match "
+            + "AND docid NOT IN (SELECT id FROM notes WHERE deleted_at IS NOT NULL)")
+    List<NoteFtsMatch> getFtsMatches(String match);
+
+    /**
+     * Loads summaries of matching notes with a highlighted snippet.
+     *
+     * @param match FTS MATCH expression used for the snippet
+     * @param rowIds rowids of the notes to load
+     * @return The notes, in no particular order
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + ", notes.rowid AS row_id, "
+            + "snippet(notes_fts, '" + NoteSearchResult.HIGHLIGHT_START + "', '"
+            + NoteSearchResult.HIGHLIGHT_END + "', '...', -1, 12) AS snippet "
+            + "FROM notes JOIN notes_fts ON notes.rowid = notes_fts.docid "
+            + "WHERE notes_fts MATCH :match AND notes_fts.docid IN (:rowIds) AND +notes.deleted_at IS NULL")
+    List<NoteSearchResult> getSearchResults(String match, List<Long> rowIds);
+
+    /**
+     * Searches notes by title and description.
+     * Every word must match as a prefix; results are ranked by BM25 relevance
+     * (title hits weigh more) and carry a highlighted snippet.
+     *
+     * @param text Text typed by the user
+     * @param limit Maximum number of results
+     * @return Best matches first; empty if the text has no searchable words
+     */
+    @Transaction
+    default List<NoteSearchResult> searchNotes(String text, int limit) {
+        String match = NoteSearch.toMatchQuery(text);
+        if (match == null) {
+            return new ArrayList<>();
+        }
+
+        List<Long> rowIds = NoteSearch.rank(getFtsMatches(match), limit);
+        if (rowIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Put the loaded notes back into rank order
+        Map<Long, Integer> rankByRowId = new HashMap<>();
+        for (int i = 0; i < rowIds.size(); i++) {
+            rankByRowId.put(rowIds.get(i), i);
+        }
+        List<NoteSearchResult> results = getSearchResults(match, rowIds);
+        results.sort((a, b) -> Integer.compare(
+                rankByRowId.get(a.getRowId()), rankByRowId.get(b.getRowId())));
+        return results;
+    }
+
+    /**
+     * Retrieves a specific note by its ID, deleted or not.
      *
      * @param noteId The ID of the note to retrieve
      * @return The requested note, or null if not found
      */
     @Query("SELECT * FROM notes WHERE id = :noteId")
-    Note getNoteById(String noteId);
+    Note getNoteById(long noteId);
 
     /**
-     * Deletes all notes from the database.
-     * Used primarily for testing and clearing all data.
+     * Looks up the row id of a note by its global UUID.
      *
-     * @return Number of rows deleted
+     * @param uuid 16-byte UUID
+     * @return The note's id, or null if there is no such note
+     */
+    @Query("SELECT id FROM notes WHERE uuid = :uuid")
+    Long getIdByUuid(byte[] uuid);
+
+    /**
+     * Finds inline bodies that belong in cold storage: bodies longer than
+     * largeLength characters, and bodies longer than the list preview in
+     * notes not edited since staleBefore. Scans the table.
+     *
+     * @param largeLength Length in characters above which any body is moved
+     * @param staleBefore Epoch millis; older notes are moved regardless of size
+     * @param limit Maximum number of ids
+     * @return Ids of notes to move
      */
-    @Query("DELETE FROM notes")
-    int deleteAllNotes();
+    @Query("SELECT id FROM notes WHERE body_cold = 0 AND +deleted_at IS NULL "
+            + "AND (length(description) > :largeLength "
+            + "OR (updated_at < :staleBefore AND length(description) > " + NoteSummary.PREVIEW_LENGTH + ")) "
+            + "LIMIT :limit")
+    List<Long> getColdBodyCandidates(int largeLength, long staleBefore, int limit);
 
     /**
      * Gets the count of all notes in the database.
      *
      * @return Number of notes
      */
-    @Query("SELECT COUNT(*) FROM notes")
+    @Query("SELECT COUNT(*) FROM notes WHERE deleted_at IS NULL")
     int getNoteCount();
 }
@@ -0,0 +1,88 @@
+package com.example.dailyquotes_1.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import com.example.dailyquotes_1.model.NoteDraft;
+
+import java.util.List;
+
+/**
+ * Room Data Access Object (DAO) interface for note drafts.
+ * Autosave writes through the column-specific updates, so a keystroke in
+ * the title never rewrites a long description and no write reads first.
+ */
+@Dao
+public interface NoteDraftDao {
+
+    /**
+     * Retrieves the draft of a note.
+     *
+     * @param noteId Note id, or NoteDraft.NEW_NOTE_ID
+     * @return The draft, or null if there is none
+     */
+    @Query("SELECT * FROM note_drafts WHERE note_id = :noteId")
+    NoteDraft getDraft(long noteId);
+
+    /**
+     * Writes a whole draft, creating it if needed.
+     *
+     * @param draft The draft
+     */
+    @Upsert
+    void upsertDraft(NoteDraft draft);
+
+    /**
+     * Updates only the title of an existing draft.
+     *
+     * @param noteId Note id, or NoteDraft.NEW_NOTE_ID
+     * @param title New title
+     * @param savedAt Epoch millis of the write
+     * @return Number of rows updated (0 if the draft does not exist)
+     */
+    @Query("UPDATE note_drafts SET title = :title, saved_at = :savedAt WHERE note_id = :noteId")
+    int updateTitle(long noteId, String title, long savedAt);
+
+    /**
+     * Updates only the description of an existing draft.
+     *
+     * @param noteId Note id, or NoteDraft.NEW_NOTE_ID
+     * @param description New description
+     * @param savedAt Epoch millis of the write
+     * @return Number of rows updated (0 if the draft does not exist)
+     */
+    @Query("UPDATE note_drafts SET description = :description, saved_at = :savedAt WHERE note_id = :noteId")
+    int updateDescription(long noteId, String description, long savedAt);
+
+    /**
+     * Updates the title and description of an existing draft.
+     *
+     * @param noteId Note id, or NoteDraft.NEW_NOTE_ID
+     * @param title New title
+     * @param description New description
+     * @param savedAt Epoch millis of the write
+     * @return Number of rows updated (0 if the draft does not exist)
+     */
+    @Query("UPDATE note_drafts SET title = :title, description = :description, saved_at = :savedAt "
+            + "WHERE note_id = :noteId")
+    int updateDraft(long noteId, String title, String description, long savedAt);
+
+    /**
+     * Deletes the draft of a note.
+     *
+     * @param noteId Note id, or NoteDraft.NEW_NOTE_ID
+     * @return Number of rows deleted
+     */
+    @Query("DELETE FROM note_drafts WHERE note_id = :noteId")
+    int deleteDraft(long noteId);
+
+    /**
+     * Deletes the drafts of several notes.
+     *
+     * @param noteIds Note ids
+     * @return Number of rows deleted
+     */
+    @Query("DELETE FROM note_drafts WHERE note_id IN (:noteIds)")
+    int deleteDrafts(List<Long> noteIds);
+}
@@ -0,0 +1,140 @@
+package com.example.dailyquotes_1.database;
+
+import com.example.dailyquotes_1.model.NoteFtsMatch;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Helpers for full-text search over notes_fts.
+ * Turns user input into an FTS MATCH expression and ranks matches with Okapi
+ * BM25 computed from SQLite's matchinfo(notes_fts, 'pcnalx') blob, since FTS4
+ * has no built-in ranking function.
+ */
+public final class NoteSearch {
+
+    /** matchinfo format string the ranking expects. */
+    public static final String MATCHINFO_FORMAT = "pcnalx";
+
+    // BM25 parameters: term frequency saturation and length normalisation
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Per-column weights, in notes_fts column order (title, description)
+    private static final double[] COLUMN_WEIGHTS = {2.0, 1.0};
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private NoteSearch() {
+    }
+
+    /**
+     * Builds a MATCH expression from free text: every word must match, each
+     * as a prefix, so results update as the user types.
+     * FTS operators and punctuation in the input are ignored.
+     *
+     * @param input Text typed by the user
+     * @return MATCH expression, or null if the input has no searchable words
+     */
+    public static String toMatchQuery(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        StringBuilder query = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+        String lower = input.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                // Quoted so words like "and" / "near" are not read as operators
+                query.append('"').append(word).append("*\"");
+                word.setLength(0);
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    /**
+     * Decodes a matchinfo blob (unsigned 32-bit ints in native byte order).
+     *
+     * @param blob matchinfo() result
+     * @return The values
+     */
+    static int[] decodeMatchInfo(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob).order(ByteOrder.nativeOrder());
+        int[] values = new int[blob.length / 4];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getInt();
+        }
+        return values;
+    }
+
+    /**
+     * Computes the BM25 score of one row from its 'pcnalx' matchinfo values.
+     *
+     * @param info Decoded matchinfo
+     * @return Relevance score; higher is better
+     */
+    public static double score(int[] info) {
+        int phrases = info[0];
+        int columns = info[1];
+        int rows = info[2];
+        int avgLengthStart = 3;
+        int lengthStart = avgLengthStart + columns;
+        int hitsStart = lengthStart + columns;
+
+        double score = 0;
+        for (int p = 0; p < phrases; p++) {
+            for (int c = 0; c < columns; c++) {
+                int x = hitsStart + 3 * (p * columns + c);
+                int hitsInRow = info[x];
+                if (hitsInRow == 0) {
+                    continue;
+                }
+                int rowsWithHit = info[x + 2];
+
+                double idf = Math.log(1 + (rows - rowsWithHit + 0.5) / (rowsWithHit + 0.5));
+                double avgLength = Math.max(1, info[avgLengthStart + c]);
+                double lengthNorm = 1 - B + B * info[lengthStart + c] / avgLength;
+                double weight = c < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[c] : 1.0;
+
+                score += weight * idf * hitsInRow * (K1 + 1) / (hitsInRow + K1 * lengthNorm);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Ranks matches by BM25 and returns the best rowids.
+     *
+     * @param matches All matches of a query
+     * @param limit Maximum number of rowids to return
+     * @return Rowids of the best matches, best first
+     */
+    public static List<Long> rank(List<NoteFtsMatch> matches, int limit) {
+        int count = matches.size();
+        double[] scores = new double[count];
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            scores[i] = score(decodeMatchInfo(matches.get(i).getMatchInfo()));
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        List<Long> rowIds = new ArrayList<>(Math.min(limit, count));
+        for (int i = 0; i < count && i < limit; i++) {
+            rowIds.add(matches.get(order[i]).getRowId());
+        }
+        return rowIds;
+    }
+}
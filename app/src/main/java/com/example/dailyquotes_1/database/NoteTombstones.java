@@ -0,0 +1,84 @@
+package com.example.dailyquotes_1.database;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soft delete of notes. Deleting only stamps notes.deleted_at, a single
+ * small UPDATE, so it returns at once and can be undone with restore();
+ * queries in NoteDao skip stamped rows. purge() later removes notes deleted
+ * more than PURGE_AFTER_MS ago, together with their draft and cold body, in
+ * batches off the interactive path.
+ *
+ * Stamping does not change the text, and the notes_fts triggers only fire
+ * for the text columns, so the row is not re-indexed and undo finds the
+ * index as it was. Search excludes deleted rows itself.
+ *
+ * Methods run database queries and must be called off the main thread.
+ */
+public class NoteTombstones {
+
+    /** Deleted notes are kept, and can be restored, for this long. */
+    public static final long PURGE_AFTER_MS = TimeUnit.DAYS.toMillis(1);
+
+    // Notes purged per call of purge()
+    private static final int BATCH_SIZE = 100;
+
+    private final AppDatabase database;
+    private final NoteDao noteDao;
+    private final NoteDraftDao draftDao;
+    private final NoteBodyDao bodyDao;
+
+    /**
+     * Constructor.
+     *
+     * @param database The app database
+     */
+    public NoteTombstones(AppDatabase database) {
+        this.database = database;
+        this.noteDao = database.noteDao();
+        this.draftDao = database.noteDraftDao();
+        this.bodyDao = database.noteBodyDao();
+    }
+
+    /**
+     * Marks a note as deleted.
+     *
+     * @param noteId The ID of the note
+     * @param deletedAt Epoch millis of the delete
+     * @return true if a live note was marked
+     */
+    public boolean softDelete(long noteId, long deletedAt) {
+        return noteDao.markDeleted(noteId, deletedAt) > 0;
+    }
+
+    /**
+     * Brings back a note that was deleted and not yet purged.
+     *
+     * @param noteId The ID of the note
+     * @return true if a deleted note was restored
+     */
+    public boolean restore(long noteId) {
+        return noteDao.clearDeleted(noteId) > 0;
+    }
+
+    /**
+     * Permanently deletes the next batch of notes deleted more than
+     * PURGE_AFTER_MS before now, with their drafts and cold bodies, in one
+     * transaction. Call until it returns an empty list.
+     *
+     * @param now Current epoch millis
+     * @return Ids of the notes purged; empty when there is nothing left
+     */
+    public List<Long> purge(long now) {
+        return database.runInTransaction(() -> {
+            List<Long> ids = noteDao.getDeletedNoteIds(now - PURGE_AFTER_MS, BATCH_SIZE);
+            if (!ids.isEmpty()) {
+                noteDao.deleteNotesByIds(ids);
+                bodyDao.deleteBodies(ids);
+                draftDao.deleteDrafts(ids);
+            }
+            return ids;
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.dailyquotes_1.database;
+
+import com.example.dailyquotes_1.util.Histogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed number of threads draining one priority queue.
+ * UI-priority tasks are taken before background ones; tasks of the same
+ * priority run in submission order. Records how long tasks wait in the
+ * queue (per priority), how long they run, and the deepest the queue got.
+ */
+public class PriorityLane {
+
+    private final String name;
+    private final ThreadPoolExecutor pool;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<DatabaseExecutors.Priority, Histogram> waitTimes =
+            new EnumMap<>(DatabaseExecutors.Priority.class);
+    private final Histogram runTimes = new Histogram("ms", Histogram.LATENCY_BOUNDS_MS);
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLong cancelledCount = new AtomicLong();
+
+    /**
+     * Constructor. Threads are started on first use and then kept for the
+     * life of the process, so the thread count never exceeds threadCount.
+     *
+     * @param name Lane name used in reports
+     * @param threadCount Number of threads
+     * @param threadFactory Creates the lane's threads
+     */
+    PriorityLane(String name, int threadCount, ThreadFactory threadFactory) {
+        this.name = name;
+        this.pool = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), threadFactory);
+        for (DatabaseExecutors.Priority priority : DatabaseExecutors.Priority.values()) {
+            waitTimes.put(priority, new Histogram("ms", Histogram.LATENCY_BOUNDS_MS));
+        }
+    }
+
+    /**
+     * Queues a task.
+     *
+     * @param priority Queue priority
+     * @param body The work to run
+     * @param scope Scope whose cancellation drops the task, or null if it always runs
+     */
+    void execute(DatabaseExecutors.Priority priority, Runnable body, TaskScope scope) {
+        Task task = new Task(this, priority, sequence.getAndIncrement(), body, scope);
+        if (scope != null && !scope.track(task)) {
+            cancelledCount.incrementAndGet();
+            return;
+        }
+        pool.execute(task);
+
+        int depth = pool.getQueue().size();
+        int currentMax;
+        do {
+            currentMax = maxQueueDepth.get();
+        } while (depth > currentMax && !maxQueueDepth.compareAndSet(currentMax, depth));
+    }
+
+    /**
+     * Drops a task that has not started yet.
+     *
+     * @param task The task
+     */
+    void cancel(Task task) {
+        if (pool.remove(task)) {
+            cancelledCount.incrementAndGet();
+        }
+    }
+
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    /**
+     * Gets the queue wait times of one priority.
+     *
+     * @param priority The priority
+     * @return Histogram of milliseconds between submission and start
+     */
+    public Histogram getWaitTimes(DatabaseExecutors.Priority priority) {
+        return waitTimes.get(priority);
+    }
+
+    public Histogram getRunTimes() {
+        return runTimes;
+    }
+
+    /**
+     * Writes a human readable report of this lane.
+     *
+     * @param writer Destination
+     * @throws IOException if writing fails
+     */
+    void dump(Writer writer) throws IOException {
+        writer.write(String.format(Locale.US, "%s (threads=%d queued=%d maxQueued=%d cancelled=%d)%n",
+                name, pool.getMaximumPoolSize(), getQueueDepth(), getMaxQueueDepth(), getCancelledCount()));
+        for (DatabaseExecutors.Priority priority : DatabaseExecutors.Priority.values()) {
+            writer.write(String.format(Locale.US, "  %-15s %s%n", "WAIT_" + priority, waitTimes.get(priority)));
+        }
+        writer.write(String.format(Locale.US, "  %-15s %s%n", "RUN", runTimes));
+    }
+
+    /**
+     * A queued unit of work, ordered by priority and then submission order.
+     */
+    static final class Task implements Runnable, Comparable<Task> {
+        private final PriorityLane lane;
+        private final DatabaseExecutors.Priority priority;
+        private final long sequence;
+        private final Runnable body;
+        private final TaskScope scope;
+        private final long queuedAtNanos = System.nanoTime();
+
+        /**
+         * Constructor.
+         *
+         * @param lane Lane the task is queued on
+         * @param priority Queue priority
+         * @param sequence Submission order within the lane
+         * @param body The work to run
+         * @param scope Owning scope, or null
+         */
+        Task(PriorityLane lane, DatabaseExecutors.Priority priority, long sequence, Runnable body,
+             TaskScope scope) {
+            this.lane = lane;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.body = body;
+            this.scope = scope;
+        }
+
+        PriorityLane getLane() {
+            return lane;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            lane.waitTimes.get(priority).record(TimeUnit.NANOSECONDS.toMillis(startNanos - queuedAtNanos));
+            try {
+                if (scope != null && scope.isCancelled()) {
+                    lane.cancelledCount.incrementAndGet();
+                    return;
+                }
+                body.run();
+            } finally {
+                lane.runTimes.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                if (scope != null) {
+                    scope.untrack(this);
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            if (priority != other.priority) {
+                return priority.compareTo(other.priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.dailyquotes_1.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.dailyquotes_1.model.Quote;
+
+import java.util.List;
+
+/**
+ * Room Data Access Object (DAO) interface for the cached Quote entity.
+ * Pages are stored by absolute position so they can be served back with
+ * the same limit/skip arithmetic the API uses.
+ */
+@Dao
+public interface QuoteDao {
+
+    /**
+     * Inserts or replaces a batch of quotes.
+     * A quote whose id already exists is moved to its new position.
+     *
+     * @param quotes The quotes to store
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertQuotes(List<Quote> quotes);
+
+    /**
+     * Retrieves one cached page of quotes.
+     *
+     * @param limit Maximum number of quotes to return
+     * @param skip Absolute position of the first quote
+     * @return Cached quotes in the page, ordered by position
+     */
+    @Query("SELECT * FROM quotes WHERE position >= :skip AND position < :skip + :limit ORDER BY position ASC")
+    List<Quote> getQuotesPage(int limit, int skip);
+
+    /**
+     * Deletes cached quotes in the position range [from, to).
+     *
+     * @param from First position to delete (inclusive)
+     * @param to Last position to delete (exclusive)
+     * @return Number of rows deleted
+     */
+    @Query("DELETE FROM quotes WHERE position >= :from AND position < :to")
+    int deleteQuotesInRange(int from, int to);
+
+    /**
+     * Replaces the cached page starting at skip with a freshly fetched one.
+     * Runs in a single transaction so readers never see a half-written page.
+     *
+     * @param skip Absolute position of the first quote in the page
+     * @param limit Page size that was requested
+     * @param quotes Fresh quotes, already stamped with their positions
+     */
+    @Transaction
+    default void replacePage(int skip, int limit, List<Quote> quotes) {
+        deleteQuotesInRange(skip, skip + Math.max(limit, quotes.size()));
+        insertQuotes(quotes);
+    }
+
+    /**
+     * Picks a random cached quote.
+     * Used by the daily notification when the network is unavailable.
+     *
+     * @return A random quote, or null if the cache is empty
+     */
+    @Query("SELECT * FROM quotes ORDER BY RANDOM() LIMIT 1")
+    Quote getRandomQuote();
+
+    /**
+     * Gets the number of cached quotes.
+     *
+     * @return Number of quotes in the cache
+     */
+    @Query("SELECT COUNT(*) FROM quotes")
+    int getQuoteCount();
+
+    /**
+     * Deletes all cached quotes.
+     *
+     * @return Number of rows deleted
+     */
+    @Query("DELETE FROM quotes")
+    int deleteAllQuotes();
+}
@@ -0,0 +1,133 @@
+package com.example.dailyquotes_1.database;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Submits database work on behalf of one screen.
+ * Reads that have not started when the scope is cancelled (or its
+ * lifecycle owner is destroyed) are dropped, so a closed screen does not
+ * hold up the shared read threads. Writes are never dropped: a save
+ * started just before the screen closes must still reach the database.
+ */
+public class TaskScope implements LifecycleEventObserver {
+
+    private final DatabaseExecutors executors;
+    private final Set<PriorityLane.Task> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * Constructor.
+     *
+     * @param executors Shared executors the work runs on
+     */
+    TaskScope(DatabaseExecutors executors) {
+        this.executors = executors;
+    }
+
+    /**
+     * Queues a UI-priority read.
+     *
+     * @param task The read
+     */
+    public void read(Runnable task) {
+        read(DatabaseExecutors.Priority.UI, task);
+    }
+
+    /**
+     * Queues a read.
+     *
+     * @param priority Queue priority
+     * @param task The read
+     */
+    public void read(DatabaseExecutors.Priority priority, Runnable task) {
+        executors.getReadLane().execute(priority, task, this);
+    }
+
+    /**
+     * Queues a UI-priority write. Runs even if the scope is cancelled first.
+     *
+     * @param task The write
+     */
+    public void write(Runnable task) {
+        write(DatabaseExecutors.Priority.UI, task);
+    }
+
+    /**
+     * Queues a write. Runs even if the scope is cancelled first.
+     *
+     * @param priority Queue priority
+     * @param task The write
+     */
+    public void write(DatabaseExecutors.Priority priority, Runnable task) {
+        executors.getWriteLane().execute(priority, task, null);
+    }
+
+    /**
+     * Gets an Executor that queues UI-priority reads in this scope, for
+     * classes that take a plain Executor.
+     *
+     * @return Read executor
+     */
+    public Executor reader() {
+        return this::read;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Drops every read that has not started yet; later reads are dropped too.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (PriorityLane.Task task : pending) {
+            task.getLane().cancel(task);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Cancels the scope when its lifecycle owner is destroyed.
+     *
+     * @param source The lifecycle owner
+     * @param event The lifecycle event
+     */
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event == Lifecycle.Event.ON_DESTROY) {
+            source.getLifecycle().removeObserver(this);
+            cancel();
+        }
+    }
+
+    /**
+     * Starts tracking a queued task.
+     *
+     * @param task The task
+     * @return false if the scope is already cancelled and the task must not be queued
+     */
+    boolean track(PriorityLane.Task task) {
+        if (cancelled) {
+            return false;
+        }
+        pending.add(task);
+        return true;
+    }
+
+    /**
+     * Stops tracking a task that has finished.
+     *
+     * @param task The task
+     */
+    void untrack(PriorityLane.Task task) {
+        pending.remove(task);
+    }
+}
@@ -1,24 +1,50 @@
 package com.example.dailyquotes_1.model;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-import java.util.UUID;
+import com.example.dailyquotes_1.util.UuidBytes;
+
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Room Entity class representing a Note in the database.
  * This class is automatically mapped to the 'notes' table in SQLite.
+ * Timestamps are stored as INTEGER epoch milliseconds. Indexed on
+ * (created_at, id), the list sort key used for keyset pagination, and on
+ * updated_at.
+ *
+ * The id is an INTEGER primary key (the SQLite rowid), used for lookups and
+ * passed between screens. Ids are never reused after a delete. The uuid is a
+ * 16-byte global identity used only where notes leave this database, such
+ * as export and import.
+ *
+ * Long or long-untouched bodies live compressed in note_bodies (see
+ * NoteColdStorage); bodyCold is then set and the description column holds
+ * only the list preview. Notes returned by NoteRepository always carry the
+ * full description.
+ *
+ * Deleting a note only sets deletedAt (a tombstone, see NoteTombstones);
+ * list, search and export queries skip such rows until they are purged.
  */
-@Entity(tableName = "notes")
+@Entity(tableName = "notes",
+        indices = {@Index({"created_at", "id"}), @Index("updated_at"), @Index(value = "uuid", unique = true),
+                @Index("deleted_at")})
 public class Note {
 
-    @PrimaryKey
-    @NonNull
+    @PrimaryKey(autoGenerate = true)
     @ColumnInfo(name = "id")
-    private String id;
+    private long id;
+
+    @NonNull
+    @ColumnInfo(name = "uuid", typeAffinity = ColumnInfo.BLOB)
+    private byte[] uuid;
 
     @ColumnInfo(name = "title")
     private String title;
@@ -27,22 +53,32 @@ public class Note {
     private String description;
 
     @ColumnInfo(name = "created_at")
-    private String createdAt;
+    private long createdAt;
 
     @ColumnInfo(name = "updated_at")
-    private String updatedAt;
+    private long updatedAt;
+
+    @ColumnInfo(name = "body_cold", defaultValue = "0")
+    private boolean bodyCold;
+
+    @Nullable
+    @ColumnInfo(name = "deleted_at")
+    private Long deletedAt;
 
     /**
      * Constructor with all fields.
      *
-     * @param id Unique identifier (UUID)
+     * @param id Row id, or 0 to have one assigned on insert
+     * @param uuid Global identity, 16 bytes
      * @param title Note title
      * @param description Note description
-     * @param createdAt Timestamp when note was created
-     * @param updatedAt Timestamp when note was last updated
+     * @param createdAt Epoch millis when note was created
+     * @param updatedAt Epoch millis when note was last updated
      */
-    public Note(String id, String title, String description, String createdAt, String updatedAt) {
+    public Note(long id, @NonNull byte[] uuid, String title, String description, long createdAt,
+                long updatedAt) {
         this.id = id;
+        this.uuid = uuid;
         this.title = title;
         this.description = description;
         this.createdAt = createdAt;
@@ -51,15 +87,15 @@ public class Note {
 
     /**
      * Constructor with title, description, and creation timestamp.
-     * Automatically generates UUID for id.
+     * Generates a random UUID; the id is assigned on insert.
      *
      * @param title Note title
      * @param description Note description
-     * @param createdAt Timestamp when note was created
+     * @param createdAt Epoch millis when note was created
      */
     @Ignore
-    public Note(String title, String description, String createdAt) {
-        this.id = UUID.randomUUID().toString();
+    public Note(String title, String description, long createdAt) {
+        this.uuid = UuidBytes.random();
         this.title = title;
         this.description = description;
         this.createdAt = createdAt;
@@ -74,14 +110,23 @@ public class Note {
 
     // Getters and Setters
 
-    public String getId() {
+    public long getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(long id) {
         this.id = id;
     }
 
+    @NonNull
+    public byte[] getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(@NonNull byte[] uuid) {
+        this.uuid = uuid;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -98,30 +143,74 @@ public class Note {
         this.description = description;
     }
 
-    public String getCreatedAt() {
+    public long getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(String createdAt) {
+    public void setCreatedAt(long createdAt) {
         this.createdAt = createdAt;
     }
 
-    public String getUpdatedAt() {
+    public long getUpdatedAt() {
         return updatedAt;
     }
 
-    public void setUpdatedAt(String updatedAt) {
+    public void setUpdatedAt(long updatedAt) {
         this.updatedAt = updatedAt;
     }
 
+    public boolean isBodyCold() {
+        return bodyCold;
+    }
+
+    public void setBodyCold(boolean bodyCold) {
+        this.bodyCold = bodyCold;
+    }
+
+    @Nullable
+    public Long getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(@Nullable Long deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Note)) {
+            return false;
+        }
+        Note other = (Note) o;
+        return id == other.id
+                && createdAt == other.createdAt
+                && updatedAt == other.updatedAt
+                && bodyCold == other.bodyCold
+                && Objects.equals(deletedAt, other.deletedAt)
+                && Arrays.equals(uuid, other.uuid)
+                && Objects.equals(title, other.title)
+                && Objects.equals(description, other.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, Arrays.hashCode(uuid), title, description, createdAt, updatedAt, bodyCold, deletedAt);
+    }
+
     @Override
     public String toString() {
         return "Note{" +
-                "id='" + id + '\'' +
+                "id=" + id +
+                ", uuid='" + UuidBytes.toString(uuid) + '\'' +
                 ", title='" + title + '\'' +
                 ", description='" + description + '\'' +
-                ", createdAt='" + createdAt + '\'' +
-                ", updatedAt='" + updatedAt + '\'' +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                ", bodyCold=" + bodyCold +
+                ", deletedAt=" + deletedAt +
                 '}';
     }
 }
@@ -0,0 +1,43 @@
+package com.example.dailyquotes_1.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Room Entity for the cold storage of a note body: the full description,
+ * UTF-8 encoded and DEFLATE compressed, keyed by the note id. Only notes
+ * with bodyCold set have a row here (see NoteColdStorage).
+ */
+@Entity(tableName = "note_bodies")
+public class NoteBody {
+
+    @PrimaryKey
+    @ColumnInfo(name = "note_id")
+    private long noteId;
+
+    @NonNull
+    @ColumnInfo(name = "body", typeAffinity = ColumnInfo.BLOB)
+    private byte[] body;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param noteId Id of the note
+     * @param body Compressed description
+     */
+    public NoteBody(long noteId, @NonNull byte[] body) {
+        this.noteId = noteId;
+        this.body = body;
+    }
+
+    public long getNoteId() {
+        return noteId;
+    }
+
+    @NonNull
+    public byte[] getBody() {
+        return body;
+    }
+}
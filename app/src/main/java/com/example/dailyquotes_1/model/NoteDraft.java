@@ -0,0 +1,62 @@
+package com.example.dailyquotes_1.model;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Room Entity for an unsaved edit of a note, written while the user types
+ * so the edit survives process death. One draft per note, keyed by the
+ * note id; NEW_NOTE_ID holds the draft of a note that has not been saved yet.
+ * The draft is deleted when the note is saved or deleted.
+ */
+@Entity(tableName = "note_drafts")
+public class NoteDraft {
+
+    /** Draft key of a note that does not exist yet (note ids start at 1). */
+    public static final long NEW_NOTE_ID = 0;
+
+    @PrimaryKey
+    @ColumnInfo(name = "note_id")
+    private long noteId;
+
+    @ColumnInfo(name = "title")
+    private String title;
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    @ColumnInfo(name = "saved_at")
+    private long savedAt;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param noteId Id of the note being edited, or NEW_NOTE_ID
+     * @param title Draft title
+     * @param description Draft description
+     * @param savedAt Epoch millis when the draft was written
+     */
+    public NoteDraft(long noteId, String title, String description, long savedAt) {
+        this.noteId = noteId;
+        this.title = title;
+        this.description = description;
+        this.savedAt = savedAt;
+    }
+
+    public long getNoteId() {
+        return noteId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public long getSavedAt() {
+        return savedAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.dailyquotes_1.model;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * Room FTS4 entity mirroring the searchable columns of the notes table.
+ * It stores its own copy of the text, since a note in cold storage keeps
+ * only a preview in notes; triggers on notes keep it in sync (see
+ * AppDatabase.createNotesFtsTriggers). Rows are linked to notes by rowid
+ * (docid).
+ */
+@Fts4(tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "notes_fts")
+public class NoteFts {
+
+    @ColumnInfo(name = "title")
+    private String title;
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
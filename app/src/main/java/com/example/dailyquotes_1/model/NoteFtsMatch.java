@@ -0,0 +1,32 @@
+package com.example.dailyquotes_1.model;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * One full-text match: the notes rowid and its FTS matchinfo blob,
+ * used to rank matches before any note text is loaded.
+ */
+public class NoteFtsMatch {
+
+    @ColumnInfo(name = "row_id")
+    private long rowId;
+
+    @ColumnInfo(name = "match_info")
+    private byte[] matchInfo;
+
+    public long getRowId() {
+        return rowId;
+    }
+
+    public void setRowId(long rowId) {
+        this.rowId = rowId;
+    }
+
+    public byte[] getMatchInfo() {
+        return matchInfo;
+    }
+
+    public void setMatchInfo(byte[] matchInfo) {
+        this.matchInfo = matchInfo;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.dailyquotes_1.model;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+/**
+ * A note summary returned by full-text search, with a snippet of the best matching
+ * text. Matched terms in the snippet are wrapped in HIGHLIGHT_START and
+ * HIGHLIGHT_END.
+ */
+public class NoteSearchResult {
+
+    /** Marks the start of a matched term in the snippet. */
+    public static final String HIGHLIGHT_START = "\u0002";
+    /** Marks the end of a matched term in the snippet. */
+    public static final String HIGHLIGHT_END = "\u0003";
+
+    @Embedded
+    private NoteSummary summary;
+
+    @ColumnInfo(name = "row_id")
+    private long rowId;
+
+    @ColumnInfo(name = "snippet")
+    private String snippet;
+
+    public NoteSummary getSummary() {
+        return summary;
+    }
+
+    public void setSummary(NoteSummary summary) {
+        this.summary = summary;
+    }
+
+    public long getRowId() {
+        return rowId;
+    }
+
+    public void setRowId(long rowId) {
+        this.rowId = rowId;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
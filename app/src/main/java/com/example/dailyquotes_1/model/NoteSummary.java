@@ -0,0 +1,136 @@
+package com.example.dailyquotes_1.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Lightweight projection of a Note for the notes list.
+ * Carries what a list row shows (the title, the first PREVIEW_LENGTH
+ * characters of the description and the creation time) plus the small
+ * fixed-size columns of the note. The full note is loaded by id when it is
+ * opened, unless the preview is the whole description (short notes): then
+ * toNote() rebuilds the full note without another query.
+ */
+public class NoteSummary {
+
+    /** Characters of the description kept for the preview (about 3 lines). */
+    public static final int PREVIEW_LENGTH = 200;
+
+    @ColumnInfo(name = "id")
+    private final long id;
+
+    @NonNull
+    @ColumnInfo(name = "uuid")
+    private final byte[] uuid;
+
+    @ColumnInfo(name = "title")
+    private final String title;
+
+    @ColumnInfo(name = "preview")
+    private final String preview;
+
+    @ColumnInfo(name = "created_at")
+    private final long createdAt;
+
+    @ColumnInfo(name = "updated_at")
+    private final long updatedAt;
+
+    /**
+     * Constructor used by Room.
+     *
+     * @param id Note id
+     * @param uuid Note UUID, 16 bytes
+     * @param title Note title
+     * @param preview Start of the description, at most PREVIEW_LENGTH characters
+     * @param createdAt Epoch millis when note was created
+     * @param updatedAt Epoch millis when note was last updated
+     */
+    public NoteSummary(long id, @NonNull byte[] uuid, String title, String preview, long createdAt,
+                       long updatedAt) {
+        this.id = id;
+        this.uuid = uuid;
+        this.title = title;
+        this.preview = preview;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @NonNull
+    public byte[] getUuid() {
+        return uuid;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Checks whether the preview holds the whole description. SQL substr
+     * counts characters (code points), so the preview is cut only if it
+     * reached PREVIEW_LENGTH of them.
+     *
+     * @return true if toNote() returns the complete note
+     */
+    public boolean hasFullDescription() {
+        return preview == null || preview.codePointCount(0, preview.length()) < PREVIEW_LENGTH;
+    }
+
+    /**
+     * Rebuilds the full note. Only meaningful if hasFullDescription().
+     *
+     * @return The note, with the preview as its description
+     */
+    public Note toNote() {
+        return new Note(id, uuid, title, preview, createdAt, updatedAt);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NoteSummary)) {
+            return false;
+        }
+        NoteSummary other = (NoteSummary) o;
+        return id == other.id
+                && createdAt == other.createdAt
+                && updatedAt == other.updatedAt
+                && Arrays.equals(uuid, other.uuid)
+                && Objects.equals(title, other.title)
+                && Objects.equals(preview, other.preview);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, Arrays.hashCode(uuid), title, preview, createdAt, updatedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "NoteSummary{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -1,26 +1,50 @@
 package com.example.dailyquotes_1.model;
 
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
 import com.google.gson.annotations.SerializedName;
 
+import java.util.Objects;
+
 /**
  * POJO class representing a Quote from the DummyJSON API.
  * Fields map the API payload: { id, quote, author }.
+ *
+ * Also a Room Entity mapped to the 'quotes' table, which caches every page
+ * seen so the quotes list can be rendered offline.
  */
+@Entity(tableName = "quotes", indices = {@Index("position")})
 public class Quote {
 
     // DummyJSON uses key "quote" for the content text
     @SerializedName("quote")
+    @ColumnInfo(name = "content")
     private String content;
 
     @SerializedName("author")
+    @ColumnInfo(name = "author")
     private String author;
 
-    // id is numeric in DummyJSON; keep as String for simplicity
+    // id is numeric in DummyJSON; kept as a primitive int so lookups never box
     @SerializedName("id")
-    private String id;
+    @PrimaryKey
+    @ColumnInfo(name = "id")
+    private int id;
+
+    // Absolute position in the API's list (skip + index in page); not part of the payload
+    @ColumnInfo(name = "position")
+    private int position;
+
+    // Time the row was written to the cache, in milliseconds; not part of the payload
+    @ColumnInfo(name = "cached_at")
+    private long cachedAt;
 
     /**
-     * Default constructor required for Gson deserialization.
+     * Default constructor required for Gson deserialization and Room.
      */
     public Quote() {
     }
@@ -31,6 +55,7 @@ public class Quote {
      * @param content The quote text
      * @param author The author of the quote
      */
+    @Ignore
     public Quote(String content, String author) {
         this.content = content;
         this.author = author;
@@ -54,20 +79,60 @@ public class Quote {
         this.author = author;
     }
 
-    public String getId() {
+    public int getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(int id) {
         this.id = id;
     }
 
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public long getCachedAt() {
+        return cachedAt;
+    }
+
+    public void setCachedAt(long cachedAt) {
+        this.cachedAt = cachedAt;
+    }
+
+    /**
+     * Two quotes are equal when they carry the same id, text and author.
+     * Cache bookkeeping (position, cachedAt) is deliberately ignored so a
+     * revalidated page can be compared against its cached copy.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Quote)) {
+            return false;
+        }
+        Quote other = (Quote) o;
+        return id == other.id
+                && Objects.equals(content, other.content)
+                && Objects.equals(author, other.author);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, content, author);
+    }
+
     @Override
     public String toString() {
         return "Quote{" +
                 "content='" + content + '\'' +
                 ", author='" + author + '\'' +
-                ", id='" + id + '\'' +
+                ", id=" + id +
                 '}';
     }
 }
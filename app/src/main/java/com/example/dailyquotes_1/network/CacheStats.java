@@ -0,0 +1,89 @@
+package com.example.dailyquotes_1.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe counters describing how the HTTP response cache is performing.
+ * Updated by OfflineCacheInterceptor for every call made through RetrofitClient.
+ */
+public class CacheStats {
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong revalidatedChangedCount = new AtomicLong();
+
+    /**
+     * Records a response served entirely from the cache (no network).
+     */
+    void recordHit() {
+        hitCount.incrementAndGet();
+    }
+
+    /**
+     * Records a response fetched from the network with nothing usable in the cache.
+     */
+    void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    /**
+     * Records a conditional request answered with 304 Not Modified.
+     */
+    void recordNotModified() {
+        notModifiedCount.incrementAndGet();
+    }
+
+    /**
+     * Records a conditional request whose cached copy was replaced by a new body.
+     */
+    void recordRevalidatedChanged() {
+        revalidatedChangedCount.incrementAndGet();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public long getRevalidatedChangedCount() {
+        return revalidatedChangedCount.get();
+    }
+
+    /**
+     * Gets the total number of conditional revalidations (304 or changed).
+     *
+     * @return Number of revalidation requests sent
+     */
+    public long getRevalidationCount() {
+        return notModifiedCount.get() + revalidatedChangedCount.get();
+    }
+
+    /**
+     * Resets all counters to zero.
+     * Used for testing purposes.
+     */
+    public void reset() {
+        hitCount.set(0);
+        missCount.set(0);
+        notModifiedCount.set(0);
+        revalidatedChangedCount.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hits=" + hitCount.get() +
+                ", misses=" + missCount.get() +
+                ", notModified=" + notModifiedCount.get() +
+                ", revalidatedChanged=" + revalidatedChangedCount.get() +
+                '}';
+    }
+}
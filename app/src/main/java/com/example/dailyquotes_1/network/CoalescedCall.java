@@ -0,0 +1,164 @@
+package com.example.dailyquotes_1.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Retrofit Call that shares its network request with concurrent calls for
+ * the same key through a RequestCoalescer.
+ *
+ * @param <T> Response body type
+ */
+class CoalescedCall<T> implements Call<T> {
+
+    private final RequestCoalescer coalescer;
+    private final String key;
+    private final Supplier<Call<T>> factory;
+    private final Call<T> delegate;
+
+    private volatile boolean executed;
+    private volatile boolean canceled;
+    private RequestCoalescer.Flight<T> flight;
+    private RequestCoalescer.Waiter<T> waiter;
+
+    /**
+     * Constructor.
+     *
+     * @param coalescer Coalescer owning the in-flight table
+     * @param key Endpoint + parameters identifying the request
+     * @param factory Creates the underlying Retrofit call
+     */
+    CoalescedCall(RequestCoalescer coalescer, String key, Supplier<Call<T>> factory) {
+        this.coalescer = coalescer;
+        this.key = key;
+        this.factory = factory;
+        this.delegate = factory.get();
+    }
+
+    @NonNull
+    @Override
+    public Response<T> execute() throws IOException {
+        RequestCoalescer.Waiter<T> joined = start(null);
+        if (joined == null) {
+            throw new IOException("Canceled");
+        }
+
+        if (joined.leader) {
+            Response<T> response;
+            try {
+                response = delegate.execute();
+            } catch (IOException | RuntimeException e) {
+                coalescer.complete(flight, null, e);
+                throw e;
+            }
+            coalescer.complete(flight, response, null);
+            return response;
+        }
+
+        try {
+            joined.latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new IOException("Interrupted while waiting for " + key, e);
+        }
+        if (joined.error instanceof IOException) {
+            throw (IOException) joined.error;
+        } else if (joined.error != null) {
+            throw new IOException(joined.error);
+        }
+        return joined.response;
+    }
+
+    @Override
+    public void enqueue(@NonNull Callback<T> callback) {
+        RequestCoalescer.Waiter<T> joined = start(callback);
+        if (joined == null) {
+            callback.onFailure(this, new IOException("Canceled"));
+            return;
+        }
+
+        if (joined.leader) {
+            delegate.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                    coalescer.complete(flight, response, null);
+                }
+
+                @Override
+                public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+                    coalescer.complete(flight, null, t);
+                }
+            });
+        }
+    }
+
+    /**
+     * Joins (or starts) the flight for this call's key.
+     *
+     * @param callback Asynchronous callback, or null for execute()
+     * @return The waiter registered for this call, or null if it was cancelled before starting
+     */
+    private synchronized RequestCoalescer.Waiter<T> start(Callback<T> callback) {
+        if (executed) {
+            throw new IllegalStateException("Already executed.");
+        }
+        executed = true;
+        if (canceled) {
+            return null;
+        }
+        waiter = new RequestCoalescer.Waiter<>(this, callback);
+        flight = coalescer.join(key, delegate, waiter);
+        return waiter;
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return executed;
+    }
+
+    @Override
+    public void cancel() {
+        RequestCoalescer.Flight<T> joinedFlight;
+        RequestCoalescer.Waiter<T> joinedWaiter;
+        synchronized (this) {
+            canceled = true;
+            joinedFlight = flight;
+            joinedWaiter = waiter;
+        }
+        if (joinedFlight != null) {
+            coalescer.leave(joinedFlight, joinedWaiter);
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @NonNull
+    @Override
+    public Call<T> clone() {
+        return new CoalescedCall<>(coalescer, key, factory);
+    }
+
+    @NonNull
+    @Override
+    public Request request() {
+        return delegate.request();
+    }
+
+    @NonNull
+    @Override
+    public Timeout timeout() {
+        return delegate.timeout();
+    }
+}
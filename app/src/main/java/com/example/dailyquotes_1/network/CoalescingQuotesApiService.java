@@ -0,0 +1,45 @@
+package com.example.dailyquotes_1.network;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
+
+import retrofit2.Call;
+
+/**
+ * QuotesApiService decorator that coalesces identical concurrent calls.
+ * A page requested twice (scroll re-triggers, rotation, worker and UI racing)
+ * is fetched and parsed once and delivered to both callers.
+ */
+class CoalescingQuotesApiService implements QuotesApiService {
+
+    private final QuotesApiService delegate;
+    private final RequestCoalescer coalescer;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The Retrofit-generated service
+     * @param coalescer Coalescer tracking in-flight calls
+     */
+    CoalescingQuotesApiService(QuotesApiService delegate, RequestCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public Call<QuoteResponse> getQuotes(int limit, int skip) {
+        return coalescer.wrap("quotes?limit=" + limit + "&skip=" + skip,
+                () -> delegate.getQuotes(limit, skip));
+    }
+
+    @Override
+    public Call<QuoteStream> streamQuotes(int limit, int skip) {
+        // A stream can only be consumed once, so it cannot be shared between waiters
+        return delegate.streamQuotes(limit, skip);
+    }
+
+    @Override
+    public Call<Quote> getRandomQuote() {
+        return coalescer.wrap("quotes/random", delegate::getRandomQuote);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.dailyquotes_1.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * OkHttp EventListener that times each phase of a call into NetworkMetrics.
+ * One instance is created per call, so the timestamps need no synchronisation.
+ * Phases that do not happen (a pooled connection skips DNS/connect/TLS, a
+ * cache hit skips everything but TOTAL) are simply not recorded.
+ */
+class MetricsEventListener extends EventListener {
+
+    private final NetworkMetrics metrics;
+    private final String endpoint;
+
+    private long callStartNs;
+    private long dnsStartNs;
+    private long connectStartNs;
+    private long secureConnectStartNs;
+    private long requestStartNs;
+    private long bodyStartNs;
+
+    /**
+     * Creates a factory producing one listener per call.
+     *
+     * @param metrics Registry to record into
+     * @return EventListener.Factory for OkHttpClient.Builder
+     */
+    static EventListener.Factory factory(NetworkMetrics metrics) {
+        return call -> new MetricsEventListener(metrics, call.request().url().encodedPath());
+    }
+
+    private MetricsEventListener(NetworkMetrics metrics, String endpoint) {
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+    }
+
+    private void record(NetworkMetrics.Phase phase, long startNs) {
+        metrics.recordPhase(endpoint, phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs));
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                       @NonNull List<InetAddress> inetAddressList) {
+        record(NetworkMetrics.Phase.DNS, dnsStartNs);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                             @NonNull Proxy proxy) {
+        connectStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+        record(NetworkMetrics.Phase.TLS, secureConnectStartNs);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                           @NonNull Proxy proxy, Protocol protocol) {
+        record(NetworkMetrics.Phase.CONNECT, connectStartNs);
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        requestStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        // Time to first byte: request sent -> first response byte
+        record(NetworkMetrics.Phase.TTFB, requestStartNs);
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        bodyStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        record(NetworkMetrics.Phase.BODY_READ, bodyStartNs);
+        metrics.recordPayload(endpoint, byteCount);
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        record(NetworkMetrics.Phase.TOTAL, callStartNs);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        record(NetworkMetrics.Phase.TOTAL, callStartNs);
+        metrics.recordFailure(endpoint);
+    }
+}
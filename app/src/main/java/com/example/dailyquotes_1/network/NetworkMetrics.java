@@ -0,0 +1,132 @@
+package com.example.dailyquotes_1.network;
+
+import com.example.dailyquotes_1.util.Histogram;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint network timing histograms recorded by MetricsEventListener.
+ * Endpoints are keyed by URL path (e.g. "/quotes", "/quotes/random"), so
+ * every page of the paginated list shares one set of histograms.
+ */
+public class NetworkMetrics {
+
+    /**
+     * Phases of a call that are timed.
+     */
+    public enum Phase {
+        DNS, CONNECT, TLS, TTFB, BODY_READ, TOTAL
+    }
+
+    /**
+     * Histograms and counters for one endpoint.
+     */
+    public static class EndpointMetrics {
+        private final Map<Phase, Histogram> phases = new ConcurrentHashMap<>();
+        private final Histogram payloadBytes = new Histogram("B", Histogram.SIZE_BOUNDS_BYTES);
+        private final AtomicLong failures = new AtomicLong();
+
+        EndpointMetrics() {
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, new Histogram("ms", Histogram.LATENCY_BOUNDS_MS));
+            }
+        }
+
+        public Histogram getHistogram(Phase phase) {
+            return phases.get(phase);
+        }
+
+        public Histogram getPayloadBytes() {
+            return payloadBytes;
+        }
+
+        public long getFailureCount() {
+            return failures.get();
+        }
+    }
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Gets (creating if needed) the metrics for an endpoint.
+     *
+     * @param endpoint URL path of the endpoint
+     * @return EndpointMetrics for that endpoint
+     */
+    public EndpointMetrics getEndpoint(String endpoint) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        if (metrics == null) {
+            endpoints.putIfAbsent(endpoint, new EndpointMetrics());
+            metrics = endpoints.get(endpoint);
+        }
+        return metrics;
+    }
+
+    /**
+     * Records a phase duration.
+     *
+     * @param endpoint URL path of the endpoint
+     * @param phase The phase timed
+     * @param millis Duration in milliseconds
+     */
+    void recordPhase(String endpoint, Phase phase, long millis) {
+        getEndpoint(endpoint).phases.get(phase).record(millis);
+    }
+
+    /**
+     * Records the size of a response body read from the network.
+     *
+     * @param endpoint URL path of the endpoint
+     * @param bytes Body size in bytes
+     */
+    void recordPayload(String endpoint, long bytes) {
+        getEndpoint(endpoint).payloadBytes.record(bytes);
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param endpoint URL path of the endpoint
+     */
+    void recordFailure(String endpoint) {
+        getEndpoint(endpoint).failures.incrementAndGet();
+    }
+
+    /**
+     * Writes a human readable report of every endpoint.
+     *
+     * @param writer Destination
+     * @throws IOException if writing fails
+     */
+    public void dump(Writer writer) throws IOException {
+        for (Map.Entry<String, EndpointMetrics> entry : new TreeMap<>(endpoints).entrySet()) {
+            EndpointMetrics metrics = entry.getValue();
+            writer.write(entry.getKey() + " (failures=" + metrics.getFailureCount() + ")\n");
+            for (Phase phase : Phase.values()) {
+                writer.write(String.format(Locale.US, "  %-9s %s%n", phase, metrics.getHistogram(phase)));
+            }
+            writer.write(String.format(Locale.US, "  %-9s %s%n", "PAYLOAD", metrics.getPayloadBytes()));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the report to a file, replacing any previous dump.
+     *
+     * @param file Destination file
+     * @throws IOException if the file cannot be written
+     */
+    public void dumpToFile(File file) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            dump(writer);
+        }
+    }
+}
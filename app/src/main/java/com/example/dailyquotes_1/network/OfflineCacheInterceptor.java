@@ -0,0 +1,94 @@
+package com.example.dailyquotes_1.network;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.example.dailyquotes_1.util.NetworkUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that serves stale cached responses while offline
+ * and classifies every response for CacheStats.
+ *
+ * When the device has no connectivity the request is rewritten to
+ * "only-if-cached, max-stale=N", so OkHttp either answers from the disk cache
+ * or fails fast with 504 instead of waiting on a socket timeout.
+ */
+class OfflineCacheInterceptor implements Interceptor {
+
+    private final Context appContext;
+    private final CacheStats cacheStats;
+    private volatile long maxStaleSeconds;
+
+    /**
+     * Constructor.
+     *
+     * @param appContext Application context used for connectivity checks
+     * @param cacheStats Counters to update
+     * @param maxStaleSeconds How old a cached response may be when served offline
+     */
+    OfflineCacheInterceptor(Context appContext, CacheStats cacheStats, long maxStaleSeconds) {
+        this.appContext = appContext;
+        this.cacheStats = cacheStats;
+        this.maxStaleSeconds = maxStaleSeconds;
+    }
+
+    /**
+     * Sets how old a cached response may be when served offline.
+     *
+     * @param maxStaleSeconds Maximum staleness in seconds
+     */
+    void setMaxStaleSeconds(long maxStaleSeconds) {
+        this.maxStaleSeconds = maxStaleSeconds;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        if (!NetworkUtils.isOnline(appContext)) {
+            request = request.newBuilder()
+                    .cacheControl(new CacheControl.Builder()
+                            .onlyIfCached()
+                            .maxStale((int) maxStaleSeconds, TimeUnit.SECONDS)
+                            .build())
+                    .build();
+        }
+
+        Response response = chain.proceed(request);
+        recordOutcome(response);
+        return response;
+    }
+
+    /**
+     * Classifies a response by how the cache took part in producing it.
+     *
+     * @param response The final response returned to the caller
+     */
+    private void recordOutcome(Response response) {
+        Response cacheResponse = response.cacheResponse();
+        Response networkResponse = response.networkResponse();
+
+        if (cacheResponse != null && networkResponse == null) {
+            cacheStats.recordHit();
+        } else if (cacheResponse != null) {
+            // Conditional GET: OkHttp sent If-None-Match / If-Modified-Since
+            if (networkResponse.code() == 304) {
+                cacheStats.recordNotModified();
+            } else {
+                cacheStats.recordRevalidatedChanged();
+            }
+        } else {
+            cacheStats.recordMiss();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.dailyquotes_1.network;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection-free Gson TypeAdapter for QuoteResponse.
+ * Reads { quotes, total, skip, limit }, delegating each list element to
+ * QuoteTypeAdapter instead of going through Gson's collection and
+ * reflective adapters.
+ */
+class QuoteResponseTypeAdapter extends TypeAdapter<QuoteResponse> {
+
+    private final QuoteTypeAdapter quoteAdapter;
+
+    /**
+     * Constructor.
+     *
+     * @param quoteAdapter Adapter used for each element of the quotes array
+     */
+    QuoteResponseTypeAdapter(QuoteTypeAdapter quoteAdapter) {
+        this.quoteAdapter = quoteAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, QuoteResponse response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("quotes");
+        if (response.getQuotes() == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (Quote quote : response.getQuotes()) {
+                quoteAdapter.write(out, quote);
+            }
+            out.endArray();
+        }
+        out.name("total").value(response.getTotal());
+        out.name("skip").value(response.getSkip());
+        out.name("limit").value(response.getLimit());
+        out.endObject();
+    }
+
+    @Override
+    public QuoteResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        QuoteResponse response = new QuoteResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "quotes":
+                    List<Quote> quotes = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        quotes.add(quoteAdapter.read(in));
+                    }
+                    in.endArray();
+                    response.setQuotes(quotes);
+                    break;
+                case "total":
+                    response.setTotal(in.nextInt());
+                    break;
+                case "skip":
+                    response.setSkip(in.nextInt());
+                    break;
+                case "limit":
+                    response.setLimit(in.nextInt());
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return response;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.dailyquotes_1.network;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import okhttp3.ResponseBody;
+
+/**
+ * Incrementally parsed quotes response.
+ *
+ * Returned by QuotesApiService.streamQuotes() instead of a fully materialised
+ * QuoteResponse. readQuotes() parses the body with Gson's JsonReader while it
+ * is still arriving and hands each Quote to a consumer as soon as it is
+ * complete, so peak heap is bounded by the reader's buffer and one Quote
+ * rather than the whole page. The body is consumed once and then closed.
+ */
+public class QuoteStream implements Closeable {
+
+    private static final QuoteTypeAdapter QUOTE_ADAPTER = new QuoteTypeAdapter();
+
+    private final ResponseBody body;
+    private int quoteCount;
+
+    /**
+     * Constructor.
+     *
+     * @param body Unbuffered response body (the endpoint must be @Streaming)
+     */
+    QuoteStream(ResponseBody body) {
+        this.body = body;
+    }
+
+    /**
+     * Parses the response, delivering each quote to the consumer in order.
+     * Called on the thread that executed the call, so a consumer may write
+     * to the database and wait for it.
+     *
+     * Null fields keep their defaults and null array elements are skipped,
+     * as with the Gson-parsed QuoteResponse.
+     *
+     * @param consumer Receives each quote as soon as it is parsed
+     * @return Pagination metadata (total, skip, limit); its quote list is empty
+     * @throws IOException if the body cannot be read or is malformed
+     */
+    public QuoteResponse readQuotes(Consumer<Quote> consumer) throws IOException {
+        QuoteResponse metadata = new QuoteResponse();
+
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            // Match the lenient Gson instance used by RetrofitClient
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "quotes":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            Quote quote = QUOTE_ADAPTER.read(reader);
+                            if (quote != null) {
+                                consumer.accept(quote);
+                                quoteCount++;
+                            }
+                        }
+                        reader.endArray();
+                        break;
+                    case "total":
+                        metadata.setTotal(reader.nextInt());
+                        break;
+                    case "skip":
+                        metadata.setSkip(reader.nextInt());
+                        break;
+                    case "limit":
+                        metadata.setLimit(reader.nextInt());
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        } finally {
+            body.close();
+        }
+
+        metadata.setQuotes(Collections.emptyList());
+        return metadata;
+    }
+
+    /**
+     * Gets the number of quotes delivered by readQuotes().
+     *
+     * @return Number of quotes parsed so far
+     */
+    public int getQuoteCount() {
+        return quoteCount;
+    }
+
+    /**
+     * Discards the response without parsing it.
+     */
+    @Override
+    public void close() {
+        body.close();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.dailyquotes_1.network;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Retrofit converter factory for QuoteStream return types.
+ * Wraps the raw body without reading it, leaving parsing to QuoteStream.
+ * Must be registered before the Gson converter, which accepts any type.
+ */
+class QuoteStreamConverterFactory extends Converter.Factory {
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        if (type != QuoteStream.class) {
+            return null;
+        }
+        return QuoteStream::new;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.dailyquotes_1.network;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reflection-free Gson TypeAdapter for Quote.
+ * Maps the API payload { id, quote, author } directly onto setters, matching
+ * the @SerializedName mapping: the numeric id is read as a primitive int,
+ * unknown fields are skipped, and cache bookkeeping fields are never
+ * (de)serialised.
+ */
+class QuoteTypeAdapter extends TypeAdapter<Quote> {
+
+    @Override
+    public void write(JsonWriter out, Quote quote) throws IOException {
+        if (quote == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("quote").value(quote.getContent());
+        out.name("author").value(quote.getAuthor());
+        out.name("id").value(quote.getId());
+        out.endObject();
+    }
+
+    @Override
+    public Quote read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Quote quote = new Quote();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    // nextInt() also accepts quoted numbers, as the reflective adapter did
+                    quote.setId(in.nextInt());
+                    break;
+                case "quote":
+                    quote.setContent(in.nextString());
+                    break;
+                case "author":
+                    quote.setAuthor(in.nextString());
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return quote;
+    }
+}
@@ -5,7 +5,9 @@ import com.example.dailyquotes_1.model.QuoteResponse;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 /**
  * Retrofit service interface for the DummyJSON Quotes API.
@@ -28,11 +30,30 @@ public interface QuotesApiService {
             @Query("skip") int skip
         );
 
+    /**
+     * Fetches a list of quotes as an incrementally parsed stream.
+     * The body is not buffered; quotes are delivered as they arrive through
+     * QuoteStream.readQuotes(). Intended for large pages (e.g. limit=0 for all).
+     *
+     * @param limit Maximum number of quotes to return (0 for all)
+     * @param skip Number of quotes to skip for pagination
+     * @return Call object wrapping a QuoteStream that must be read or closed
+     */
+    @Streaming
+    @GET("quotes")
+    Call<QuoteStream> streamQuotes(
+        @Query("limit") int limit,
+        @Query("skip") int skip
+    );
+
     /**
      * Fetches a single random quote.
+     * Always revalidated with the server (no-cache) so a fresh quote is returned
+     * when online; the last cached one is still served while offline.
      *
      * @return Call object wrapping Quote for callback-based execution
      */
+    @Headers("Cache-Control: no-cache")
     @GET("quotes/random")
     Call<Quote> getRandomQuote();
 }
@@ -0,0 +1,217 @@
+package com.example.dailyquotes_1.network;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Single-flight coalescing for API calls.
+ *
+ * Calls are keyed by endpoint + parameters. While a call for a key is in
+ * flight, further calls with the same key join it instead of hitting the
+ * network, and the single response (already parsed by Gson) is fanned out
+ * to every waiter. Once the flight completes the key is released, so later
+ * calls go to the network (and the HTTP cache) again.
+ */
+public class RequestCoalescer {
+
+    private final Executor callbackExecutor;
+    private final Map<String, Flight<?>> flights = new HashMap<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong networkCallCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param callbackExecutor Executor asynchronous callbacks are delivered on
+     *                         (the main thread on Android, like Retrofit)
+     */
+    RequestCoalescer(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Wraps a call so that it shares a flight with other calls for the same key.
+     *
+     * @param key Endpoint + parameters identifying the request
+     * @param factory Creates the underlying Retrofit call
+     * @param <T> Response body type
+     * @return A Call that coalesces with concurrent calls for the same key
+     */
+    <T> Call<T> wrap(String key, Supplier<Call<T>> factory) {
+        return new CoalescedCall<>(this, key, factory);
+    }
+
+    /**
+     * Gets the number of calls made through the coalescer.
+     *
+     * @return Total number of executed or enqueued calls
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Gets the number of calls that actually went to the network.
+     *
+     * @return Number of flights started
+     */
+    public long getNetworkCallCount() {
+        return networkCallCount.get();
+    }
+
+    /**
+     * Gets the number of duplicate calls saved by joining an existing flight.
+     *
+     * @return Number of coalesced calls
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Gets the number of flights currently in progress.
+     *
+     * @return Number of distinct keys in flight
+     */
+    public synchronized int getInFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Joins the flight for a key, starting it if none is in progress.
+     *
+     * @param key Request key
+     * @param delegate The joining call's own underlying call, used if it leads
+     * @param waiter The joining waiter
+     * @param <T> Response body type
+     * @return The flight joined, with leader set if this waiter must start it
+     */
+    @SuppressWarnings("unchecked")
+    <T> Flight<T> join(String key, Call<T> delegate, Waiter<T> waiter) {
+        requestCount.incrementAndGet();
+        synchronized (this) {
+            Flight<T> flight = (Flight<T>) flights.get(key);
+            if (flight == null) {
+                flight = new Flight<>(key, delegate);
+                flights.put(key, flight);
+                networkCallCount.incrementAndGet();
+                waiter.leader = true;
+            } else {
+                coalescedCount.incrementAndGet();
+            }
+            flight.waiters.add(waiter);
+            return flight;
+        }
+    }
+
+    /**
+     * Removes a waiter that cancelled. The underlying call is cancelled only
+     * when no waiters are left.
+     *
+     * @param flight The flight the waiter joined
+     * @param waiter The cancelled waiter
+     * @param <T> Response body type
+     */
+    <T> void leave(Flight<T> flight, Waiter<T> waiter) {
+        boolean cancelUnderlying;
+        synchronized (this) {
+            if (!flight.waiters.remove(waiter)) {
+                return;
+            }
+            cancelUnderlying = flight.waiters.isEmpty();
+            if (cancelUnderlying) {
+                flights.remove(flight.key);
+            }
+        }
+        if (cancelUnderlying) {
+            flight.delegate.cancel();
+        }
+        waiter.complete(null, new IOException("Canceled"), callbackExecutor);
+    }
+
+    /**
+     * Completes a flight and fans the outcome out to every waiter.
+     *
+     * @param flight The completed flight
+     * @param response The response, or null on failure
+     * @param error The failure, or null on success
+     * @param <T> Response body type
+     */
+    <T> void complete(Flight<T> flight, Response<T> response, Throwable error) {
+        List<Waiter<T>> waiters;
+        synchronized (this) {
+            if (flights.get(flight.key) == flight) {
+                flights.remove(flight.key);
+            }
+            waiters = new ArrayList<>(flight.waiters);
+            flight.waiters.clear();
+        }
+        for (Waiter<T> waiter : waiters) {
+            waiter.complete(response, error, callbackExecutor);
+        }
+    }
+
+    /**
+     * One in-progress network call and the waiters sharing it.
+     *
+     * @param <T> Response body type
+     */
+    static final class Flight<T> {
+        final String key;
+        final Call<T> delegate;
+        final List<Waiter<T>> waiters = new ArrayList<>();
+
+        Flight(String key, Call<T> delegate) {
+            this.key = key;
+            this.delegate = delegate;
+        }
+    }
+
+    /**
+     * A caller waiting on a flight, either asynchronously (callback) or
+     * synchronously (latch).
+     *
+     * @param <T> Response body type
+     */
+    static final class Waiter<T> {
+        final Call<T> call;
+        final Callback<T> callback;
+        final CountDownLatch latch = new CountDownLatch(1);
+        boolean leader;
+        volatile Response<T> response;
+        volatile Throwable error;
+
+        Waiter(Call<T> call, Callback<T> callback) {
+            this.call = call;
+            this.callback = callback;
+        }
+
+        void complete(Response<T> response, Throwable error, Executor callbackExecutor) {
+            this.response = response;
+            this.error = error;
+            latch.countDown();
+            if (callback != null) {
+                callbackExecutor.execute(() -> {
+                    if (error != null) {
+                        callback.onFailure(call, error);
+                    } else {
+                        callback.onResponse(call, response);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -1,8 +1,21 @@
 package com.example.dailyquotes_1.network;
 
+import android.content.Context;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -10,12 +23,35 @@ import retrofit2.converter.gson.GsonConverterFactory;
  * Singleton class for Retrofit client setup.
  * Initializes Retrofit with Quotable API base URL and Gson converter.
  * Uses double-checked locking pattern for thread-safe lazy initialization.
+ *
+ * When init() has been called, the underlying OkHttp client has a bounded
+ * on-disk response cache: responses are revalidated with conditional requests
+ * (If-None-Match / If-Modified-Since) and served stale while offline.
+ *
+ * There is exactly one OkHttpClient per process, so every caller (screens and
+ * workers alike) shares one connection pool and dispatcher. warmUp() builds it
+ * on a background thread at process start and pre-connects to the API host.
  */
 public class RetrofitClient {
 
     private static final String BASE_URL = "https://dummyjson.com/";
+    private static final String CACHE_DIR_NAME = "http_cache";
+    private static final String METRICS_FILE_NAME = "network_metrics.txt";
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024;
+    private static final int DEFAULT_MAX_AGE_SECONDS = 60;
+    private static final long DEFAULT_MAX_STALE_SECONDS = 7L * 24 * 60 * 60;
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    private static volatile OkHttpClient httpClient;
     private static volatile Retrofit retrofit;
     private static volatile QuotesApiService quotesApiService;
+    private static volatile Context appContext;
+    private static volatile long maxStaleSeconds = DEFAULT_MAX_STALE_SECONDS;
+    private static volatile OfflineCacheInterceptor offlineCacheInterceptor;
+    private static volatile RequestCoalescer requestCoalescer;
+    private static final CacheStats cacheStats = new CacheStats();
+    private static final NetworkMetrics networkMetrics = new NetworkMetrics();
 
     /**
      * Private constructor to prevent instantiation.
@@ -23,6 +59,151 @@ public class RetrofitClient {
     private RetrofitClient() {
     }
 
+    /**
+     * Provides the application context used to locate the HTTP cache directory.
+     * Must be called before the first API call for caching to be enabled.
+     *
+     * @param context Any context; the application context is retained
+     */
+    public static void init(Context context) {
+        if (appContext == null) {
+            appContext = context.getApplicationContext();
+        }
+    }
+
+    /**
+     * Builds the shared client, Gson and API service on a background thread and
+     * opens a connection to the API host, so the first quotes call neither
+     * constructs anything nor pays DNS/TCP/TLS. Call once at process start,
+     * after init().
+     *
+     * @param preconnect true to also open a connection (e.g. only when online)
+     */
+    public static void warmUp(boolean preconnect) {
+        Thread thread = new Thread(() -> {
+            getQuotesApiService();
+            if (preconnect) {
+                new ConnectionWarmer(getHttpClient()).preconnect(HttpUrl.get(BASE_URL));
+            }
+        }, "http-warmup");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Sets how old a cached response may be when it is served offline.
+     *
+     * @param seconds Maximum staleness in seconds
+     */
+    public static void setOfflineMaxStaleSeconds(long seconds) {
+        maxStaleSeconds = seconds;
+        OfflineCacheInterceptor interceptor = offlineCacheInterceptor;
+        if (interceptor != null) {
+            interceptor.setMaxStaleSeconds(seconds);
+        }
+    }
+
+    /**
+     * Gets the hit/miss/revalidation counters for the HTTP cache.
+     *
+     * @return CacheStats shared by all calls
+     */
+    public static CacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    /**
+     * Gets the per-endpoint timing histograms (DNS, connect, TLS, TTFB,
+     * body read, total) and payload sizes for every call.
+     *
+     * @return NetworkMetrics shared by all calls
+     */
+    public static NetworkMetrics getNetworkMetrics() {
+        return networkMetrics;
+    }
+
+    /**
+     * Dumps the network metrics report to network_metrics.txt in the cache directory.
+     * Does nothing if init() has not been called.
+     */
+    public static void dumpNetworkMetrics() {
+        Context context = appContext;
+        if (context == null) {
+            return;
+        }
+        try {
+            networkMetrics.dumpToFile(new File(context.getCacheDir(), METRICS_FILE_NAME));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets the single-flight coalescer shared by all QuotesApiService calls,
+     * e.g. to read how many duplicate calls were saved.
+     *
+     * @return RequestCoalescer instance
+     */
+    public static RequestCoalescer getRequestCoalescer() {
+        getQuotesApiService();
+        return requestCoalescer;
+    }
+
+    /**
+     * Gets or creates the process-wide OkHttp client using double-checked locking.
+     *
+     * @return Shared OkHttpClient
+     */
+    public static OkHttpClient getHttpClient() {
+        if (httpClient == null) {
+            synchronized (RetrofitClient.class) {
+                if (httpClient == null) {
+                    httpClient = buildHttpClient();
+                }
+            }
+        }
+        return httpClient;
+    }
+
+    /**
+     * Builds the OkHttp client, with a disk cache if a context is available.
+     *
+     * @return OkHttpClient for Retrofit
+     */
+    private static OkHttpClient buildHttpClient() {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .eventListenerFactory(MetricsEventListener.factory(networkMetrics));
+
+        Context context = appContext;
+        if (context != null) {
+            File cacheDir = new File(context.getCacheDir(), CACHE_DIR_NAME);
+            offlineCacheInterceptor = new OfflineCacheInterceptor(context, cacheStats, maxStaleSeconds);
+
+            builder.cache(new Cache(cacheDir, CACHE_SIZE_BYTES))
+                    .addInterceptor(offlineCacheInterceptor)
+                    .addNetworkInterceptor(new RevalidateCacheInterceptor(DEFAULT_MAX_AGE_SECONDS));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates the Gson instance used by the API converter.
+     * Lenient parsing for flexible JSON handling, with reflection-free
+     * adapters for the hot Quote / QuoteResponse types.
+     *
+     * @return Configured Gson instance
+     */
+    static Gson createGson() {
+        QuoteTypeAdapter quoteAdapter = new QuoteTypeAdapter();
+        return new GsonBuilder()
+                .setLenient()
+                .registerTypeAdapter(Quote.class, quoteAdapter)
+                .registerTypeAdapter(QuoteResponse.class, new QuoteResponseTypeAdapter(quoteAdapter))
+                .create();
+    }
+
     /**
      * Gets or creates the Retrofit instance using double-checked locking.
      * This ensures thread safety and lazy initialization.
@@ -33,14 +214,14 @@ public class RetrofitClient {
         if (retrofit == null) {
             synchronized (RetrofitClient.class) {
                 if (retrofit == null) {
-                    // Create Gson instance with lenient parsing for flexible JSON handling
-                    Gson gson = new GsonBuilder()
-                            .setLenient()
-                            .create();
+                    Gson gson = createGson();
 
-                    // Build Retrofit with base URL and Gson converter
+                    // Build Retrofit with base URL, cached HTTP client and converters
+                    // (the streaming converter must precede Gson, which accepts any type)
                     retrofit = new Retrofit.Builder()
                             .baseUrl(BASE_URL)
+                            .client(getHttpClient())
+                            .addConverterFactory(new QuoteStreamConverterFactory())
                             .addConverterFactory(GsonConverterFactory.create(gson))
                             .build();
                 }
@@ -52,6 +233,7 @@ public class RetrofitClient {
     /**
      * Gets or creates the QuotesApiService instance.
      * This service is used to make API calls to the Quotable endpoints.
+     * Identical concurrent calls are coalesced into a single network request.
      *
      * @return QuotesApiService instance for making API requests
      */
@@ -59,7 +241,17 @@ public class RetrofitClient {
         if (quotesApiService == null) {
             synchronized (RetrofitClient.class) {
                 if (quotesApiService == null) {
-                    quotesApiService = getRetrofitInstance().create(QuotesApiService.class);
+                    Retrofit instance = getRetrofitInstance();
+
+                    // Deliver coalesced callbacks on the same executor Retrofit uses
+                    Executor callbackExecutor = instance.callbackExecutor();
+                    if (callbackExecutor == null) {
+                        callbackExecutor = Runnable::run;
+                    }
+                    requestCoalescer = new RequestCoalescer(callbackExecutor);
+
+                    quotesApiService = new CoalescingQuotesApiService(
+                            instance.create(QuotesApiService.class), requestCoalescer);
                 }
             }
         }
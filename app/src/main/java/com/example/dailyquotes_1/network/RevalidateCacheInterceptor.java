@@ -0,0 +1,44 @@
+package com.example.dailyquotes_1.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that makes API responses cacheable.
+ *
+ * Responses that arrive without any freshness headers are stored with
+ * "max-age=N", after which OkHttp revalidates them with the ETag /
+ * Last-Modified validators it kept. Explicit server headers are left alone.
+ */
+class RevalidateCacheInterceptor implements Interceptor {
+
+    private final int maxAgeSeconds;
+
+    /**
+     * Constructor.
+     *
+     * @param maxAgeSeconds How long a response is served without revalidation
+     */
+    RevalidateCacheInterceptor(int maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+
+        if (response.header("Cache-Control") != null || response.header("Expires") != null) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "public, max-age=" + maxAgeSeconds)
+                .build();
+    }
+}
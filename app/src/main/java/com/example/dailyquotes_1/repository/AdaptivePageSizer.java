@@ -0,0 +1,132 @@
+package com.example.dailyquotes_1.repository;
+
+/**
+ * Chooses the page size (limit) for quote requests from measured network behaviour.
+ *
+ * Request latency is modelled as {@code rtt + items * msPerItem} and fitted by
+ * exponentially decayed least squares over recent samples (a 304 or empty page
+ * is a pure round-trip sample). The next limit is the one whose transfer time
+ * roughly equals one round-trip, so per-request overhead stays near half the
+ * total, capped so that a single page still arrives within the latency budget.
+ * On fast links that means large pages and few requests; on slow links the
+ * per-item cost dominates and pages stay small. The first request of the
+ * process uses the minimum limit, so time-to-first-item is never worse than
+ * before. QuoteRepository shares one sizer across screens, so a screen opened
+ * later starts at the limit learned so far.
+ *
+ * Thread-safe.
+ */
+public class AdaptivePageSizer {
+
+    private static final double DECAY = 0.8;
+    private static final double MIN_VARIANCE = 1e-6;
+
+    private int minLimit;
+    private int maxLimit;
+    private final long latencyBudgetMs;
+
+    // Decayed sums for the least-squares fit of latency against item count
+    private double sumWeight;
+    private double sumItems;
+    private double sumLatency;
+    private double sumItemsSquared;
+    private double sumItemsLatency;
+
+    private int currentLimit;
+    private double rttMs = -1;
+    private double msPerItem = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param minLimit Smallest page size, also used until the first sample
+     * @param maxLimit Largest page size
+     * @param latencyBudgetMs Longest a single page request should take
+     */
+    public AdaptivePageSizer(int minLimit, int maxLimit, long latencyBudgetMs) {
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.latencyBudgetMs = latencyBudgetMs;
+        this.currentLimit = minLimit;
+    }
+
+    /**
+     * Changes the allowed page size range; the current limit is clamped into it.
+     *
+     * @param minLimit Smallest page size
+     * @param maxLimit Largest page size
+     */
+    public synchronized void setLimitBounds(int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.currentLimit = clamp(currentLimit);
+    }
+
+    /**
+     * Gets the page size to use for the next request.
+     *
+     * @return Limit within the configured bounds
+     */
+    public synchronized int nextLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * Records one network request and recomputes the next limit.
+     * Only requests answered by the network should be recorded; pure cache hits
+     * say nothing about the link.
+     *
+     * @param items Quotes in the response body (0 for a 304)
+     * @param latencyMs Time from sending the request to receiving the response
+     */
+    public synchronized void recordSample(int items, long latencyMs) {
+        sumWeight = sumWeight * DECAY + 1;
+        sumItems = sumItems * DECAY + items;
+        sumLatency = sumLatency * DECAY + latencyMs;
+        sumItemsSquared = sumItemsSquared * DECAY + (double) items * items;
+        sumItemsLatency = sumItemsLatency * DECAY + (double) items * latencyMs;
+
+        double variance = sumWeight * sumItemsSquared - sumItems * sumItems;
+        if (variance > MIN_VARIANCE) {
+            msPerItem = (sumWeight * sumItemsLatency - sumItems * sumLatency) / variance;
+            rttMs = Math.max(0, (sumLatency - msPerItem * sumItems) / sumWeight);
+        }
+
+        if (msPerItem <= 0) {
+            // Not enough spread to fit yet, or size does not cost time: probe a bigger page
+            currentLimit = clamp(currentLimit * 2);
+            return;
+        }
+
+        double byOverhead = rttMs / msPerItem;
+        double byBudget = (latencyBudgetMs - rttMs) / msPerItem;
+        int target = (int) Math.min(byOverhead, byBudget);
+
+        // Move at most 2x per step so one noisy sample cannot swing the size wildly
+        target = Math.min(target, currentLimit * 2);
+        target = Math.max(target, currentLimit / 2);
+        currentLimit = clamp(target);
+    }
+
+    /**
+     * Gets the fitted per-request overhead.
+     *
+     * @return Estimated round-trip time in ms, or -1 before enough samples
+     */
+    public synchronized double getRttMs() {
+        return rttMs;
+    }
+
+    /**
+     * Gets the fitted payload throughput.
+     *
+     * @return Estimated quotes transferred per second, or -1 before enough samples
+     */
+    public synchronized double getItemsPerSecond() {
+        return msPerItem > 0 ? 1000.0 / msPerItem : -1;
+    }
+
+    private int clamp(int limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.dailyquotes_1.repository;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import com.example.dailyquotes_1.database.AppDatabase;
+import com.example.dailyquotes_1.database.DatabaseExecutors;
+import com.example.dailyquotes_1.database.DatabaseProvider;
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
+import com.example.dailyquotes_1.network.QuoteStream;
+import com.example.dailyquotes_1.network.QuotesApiService;
+import com.example.dailyquotes_1.network.RetrofitClient;
+import com.example.dailyquotes_1.util.PreferencesManager;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Response;
+
+/**
+ * Downloads the whole quote catalogue into the Room cache.
+ *
+ * The first page reveals QuoteResponse.getTotal(); the remaining pages are
+ * then fetched in parallel with a bounded number of concurrent requests and
+ * written in batched transactions, each a separate task on the database
+ * write thread at background priority. Completed skip offsets are remembered in
+ * PreferencesManager, so an interrupted sync resumes where it left off.
+ *
+ * run() blocks and must be called on a background thread.
+ */
+public class CatalogueSync {
+
+    /**
+     * Receives progress updates from the sync thread.
+     */
+    public interface ProgressListener {
+        /**
+         * Called after each batch of pages is committed.
+         *
+         * @param pagesDone Pages stored so far, including earlier runs
+         * @param pagesTotal Pages in the whole catalogue
+         */
+        void onProgress(int pagesDone, int pagesTotal);
+    }
+
+    /**
+     * Summary of a completed sync run.
+     */
+    public static final class Result {
+        private final int pagesFetched;
+        private final int quotesWritten;
+        private final int total;
+        private final long wallTimeMs;
+
+        Result(int pagesFetched, int quotesWritten, int total, long wallTimeMs) {
+            this.pagesFetched = pagesFetched;
+            this.quotesWritten = quotesWritten;
+            this.total = total;
+            this.wallTimeMs = wallTimeMs;
+        }
+
+        public int getPagesFetched() {
+            return pagesFetched;
+        }
+
+        public int getQuotesWritten() {
+            return quotesWritten;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public long getWallTimeMs() {
+            return wallTimeMs;
+        }
+
+        public double getPagesPerSecond() {
+            return wallTimeMs > 0 ? pagesFetched * 1000.0 / wallTimeMs : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "CatalogueSync.Result{" +
+                    "pagesFetched=" + pagesFetched +
+                    ", quotesWritten=" + quotesWritten +
+                    ", total=" + total +
+                    ", wallTimeMs=" + wallTimeMs +
+                    ", pagesPerSecond=" + String.format(Locale.US, "%.1f", getPagesPerSecond()) +
+                    '}';
+        }
+    }
+
+    public static final int PAGE_SIZE = 50;
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+    private static final int PAGES_PER_TRANSACTION = 10;
+    private static final int STREAM_BATCH_SIZE = PAGE_SIZE * PAGES_PER_TRANSACTION;
+
+    private final AppDatabase database;
+    private final DatabaseExecutors executors;
+    private final QuotesApiService apiService;
+
+    /**
+     * Constructor.
+     *
+     * @param context Any context; the application context is used
+     */
+    public CatalogueSync(Context context) {
+        Context appContext = context.getApplicationContext();
+        PreferencesManager.init(appContext);
+        RetrofitClient.init(appContext);
+        this.database = DatabaseProvider.getDatabase(appContext);
+        this.executors = DatabaseExecutors.getInstance();
+        this.apiService = RetrofitClient.getQuotesApiService();
+    }
+
+    /**
+     * Runs the sync to completion.
+     * Pages that fail are left unmarked, so a later run picks them up.
+     *
+     * @param listener Receives progress after each committed batch (may be null)
+     * @return Summary with wall time and throughput
+     * @throws IOException if the first page or any remaining page could not be fetched
+     */
+    public Result run(ProgressListener listener) throws IOException {
+        long startMs = SystemClock.elapsedRealtime();
+
+        // The first page tells us how big the catalogue is
+        QuoteResponse first = fetchPage(0);
+        int total = first.getTotal();
+        int pagesTotal = (total + PAGE_SIZE - 1) / PAGE_SIZE;
+        PreferencesManager.setQuotesTotal(total);
+
+        // Progress recorded for a different total refers to stale offsets
+        if (PreferencesManager.getSyncTotal() != total) {
+            PreferencesManager.resetSyncProgress(total);
+        }
+        Set<Integer> done = PreferencesManager.getSyncedSkips();
+
+        int pagesFetched = 1;
+        int quotesWritten = 0;
+        List<Page> batch = new ArrayList<>();
+        batch.add(new Page(0, first.getQuotes()));
+
+        List<Integer> remaining = new ArrayList<>();
+        for (int skip = PAGE_SIZE; skip < total; skip += PAGE_SIZE) {
+            if (!done.contains(skip)) {
+                remaining.add(skip);
+            }
+        }
+        // Everything except the first page (still in the batch) and the remaining pages
+        int pagesDone = pagesTotal - remaining.size() - 1;
+
+        ExecutorService pool = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS);
+        CompletionService<Page> completion = new ExecutorCompletionService<>(pool);
+        IOException failure = null;
+        try {
+            for (int skip : remaining) {
+                completion.submit(() -> new Page(skip, fetchPage(skip).getQuotes()));
+            }
+
+            for (int i = 0; i < remaining.size(); i++) {
+                try {
+                    batch.add(completion.take().get());
+                    pagesFetched++;
+                } catch (ExecutionException e) {
+                    failure = e.getCause() instanceof IOException
+                            ? (IOException) e.getCause() : new IOException(e.getCause());
+                }
+
+                if (batch.size() >= PAGES_PER_TRANSACTION || i == remaining.size() - 1) {
+                    quotesWritten += writeBatch(batch);
+                    pagesDone += batch.size();
+                    batch.clear();
+                    if (listener != null) {
+                        listener.onProgress(pagesDone, pagesTotal);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new IOException("Catalogue sync interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Commit whatever arrived before a failure or interruption
+        if (!batch.isEmpty()) {
+            quotesWritten += writeBatch(batch);
+            pagesDone += batch.size();
+            if (listener != null) {
+                listener.onProgress(pagesDone, pagesTotal);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return new Result(pagesFetched, quotesWritten, total, SystemClock.elapsedRealtime() - startMs);
+    }
+
+    /**
+     * Runs the sync as a single streamed request for the whole catalogue (limit=0).
+     * Quotes are written in batches while the response is still arriving, so
+     * this needs one round-trip and bounded memory, but cannot resume mid-way.
+     *
+     * @param listener Receives progress after each committed batch (may be null)
+     * @return Summary with wall time and throughput
+     * @throws IOException if the stream could not be fetched or parsed
+     */
+    public Result runStreaming(ProgressListener listener) throws IOException {
+        long startMs = SystemClock.elapsedRealtime();
+        int knownTotal = PreferencesManager.getQuotesTotal();
+        int pagesTotal = (knownTotal + PAGE_SIZE - 1) / PAGE_SIZE;
+
+        Response<QuoteStream> response = apiService.streamQuotes(0, 0).execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("Failed to stream quotes: " + response.code());
+        }
+
+        StreamingQuoteWriter writer = new StreamingQuoteWriter(database, 0, STREAM_BATCH_SIZE) {
+            @Override
+            public void flush() {
+                super.flush();
+                if (listener != null && pagesTotal > 0) {
+                    listener.onProgress(getWrittenCount() / PAGE_SIZE, pagesTotal);
+                }
+            }
+        };
+        QuoteResponse metadata;
+        try {
+            metadata = response.body().readQuotes(writer);
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            // A batch could not be written (see StreamingQuoteWriter.flush)
+            throw e.getCause();
+        }
+
+        int total = metadata.getTotal();
+        PreferencesManager.setQuotesTotal(total);
+
+        // Every page is now stored; record it so a paged sync has nothing left to do
+        PreferencesManager.resetSyncProgress(total);
+        List<Integer> skips = new ArrayList<>();
+        for (int skip = 0; skip < total; skip += PAGE_SIZE) {
+            skips.add(skip);
+        }
+        PreferencesManager.addSyncedSkips(skips);
+
+        return new Result(1, writer.getWrittenCount(), total, SystemClock.elapsedRealtime() - startMs);
+    }
+
+    /**
+     * Fetches one page with a blocking call.
+     *
+     * @param skip Absolute position of the first quote
+     * @return The parsed page
+     * @throws IOException on network failure or an unsuccessful response
+     */
+    private QuoteResponse fetchPage(int skip) throws IOException {
+        Response<QuoteResponse> response = apiService.getQuotes(PAGE_SIZE, skip).execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("Failed to load quotes at skip " + skip + ": " + response.code());
+        }
+        return response.body();
+    }
+
+    /**
+     * Writes a batch of pages in a single transaction on the database write
+     * thread, marks them done and waits for it.
+     *
+     * @param pages Pages to write
+     * @return Number of quotes written
+     * @throws IOException if the write failed or the wait was interrupted
+     */
+    private int writeBatch(List<Page> pages) throws IOException {
+        long now = System.currentTimeMillis();
+        List<Page> batch = new ArrayList<>(pages);
+
+        try {
+            return executors.write(() -> {
+                int written = database.runInTransaction(() -> {
+                    int count = 0;
+                    for (Page page : batch) {
+                        List<Quote> quotes = page.quotes != null ? page.quotes : new ArrayList<>();
+                        for (int i = 0; i < quotes.size(); i++) {
+                            Quote quote = quotes.get(i);
+                            quote.setPosition(page.skip + i);
+                            quote.setCachedAt(now);
+                        }
+                        database.quoteDao().replacePage(page.skip, PAGE_SIZE, quotes);
+                        count += quotes.size();
+                    }
+                    return count;
+                });
+
+                // Marked by the write task, so a committed batch counts even if the wait was interrupted
+                List<Integer> skips = new ArrayList<>();
+                for (Page page : batch) {
+                    skips.add(page.skip);
+                }
+                PreferencesManager.addSyncedSkips(skips);
+                return written;
+            });
+        } catch (ExecutionException e) {
+            throw new IOException("Could not store quotes", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Catalogue sync interrupted");
+        }
+    }
+
+    /**
+     * A fetched page waiting to be written.
+     */
+    private static final class Page {
+        final int skip;
+        final List<Quote> quotes;
+
+        Page(int skip, List<Quote> quotes) {
+            this.skip = skip;
+            this.quotes = quotes;
+        }
+    }
+}
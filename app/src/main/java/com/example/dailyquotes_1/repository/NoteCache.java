@@ -0,0 +1,167 @@
+package com.example.dailyquotes_1.repository;
+
+import com.example.dailyquotes_1.model.Note;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+/**
+ * In-memory LRU cache of full notes, bounded by an estimate of their size in
+ * bytes rather than by entry count, so a few very long notes cannot push the
+ * memory use past the limit. Thread-safe.
+ *
+ * Loads from the database race with writes, so a loader reads
+ * getGeneration() before querying and passes it to put(); the note is only
+ * cached if nothing was invalidated in between.
+ */
+public class NoteCache {
+
+    // Rough fixed cost of a cached note: Note, uuid array, strings, map entry
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Long, Note> notes = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor.
+     *
+     * @param maxBytes Upper bound on the estimated size of the cached notes
+     */
+    public NoteCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Estimates the heap used by a cached note.
+     *
+     * @param note The note
+     * @return Approximate size in bytes
+     */
+    static long sizeOf(Note note) {
+        long chars = (note.getTitle() != null ? note.getTitle().length() : 0)
+                + (note.getDescription() != null ? note.getDescription().length() : 0);
+        return ENTRY_OVERHEAD_BYTES + 2 * chars;
+    }
+
+    /**
+     * Looks up a note and marks it most recently used.
+     *
+     * @param id Note id
+     * @return The cached note, or null on a miss
+     */
+    public synchronized Note get(long id) {
+        Note note = notes.get(id);
+        if (note != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return note;
+    }
+
+    /**
+     * Gets the invalidation count to pass to put() after a database read.
+     *
+     * @return Current generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a note read from the database, evicting the least recently used
+     * notes until the cache fits. Skipped if any note was invalidated since
+     * readGeneration, as the read may predate that write, and for notes that
+     * alone are larger than the cache.
+     *
+     * @param note The note
+     * @param readGeneration getGeneration() from before the read
+     */
+    public synchronized void put(Note note, long readGeneration) {
+        if (readGeneration != generation) {
+            return;
+        }
+        long size = sizeOf(note);
+        if (size > maxBytes) {
+            return;
+        }
+
+        Note previous = notes.put(note.getId(), note);
+        if (previous != null) {
+            sizeBytes -= sizeOf(previous);
+        }
+        sizeBytes += size;
+
+        Iterator<Note> eldest = notes.values().iterator();
+        while (sizeBytes > maxBytes && eldest.hasNext()) {
+            sizeBytes -= sizeOf(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Drops a note after it was written or deleted.
+     *
+     * @param id Note id
+     */
+    public synchronized void invalidate(long id) {
+        generation++;
+        Note removed = notes.remove(id);
+        if (removed != null) {
+            sizeBytes -= sizeOf(removed);
+        }
+    }
+
+    /**
+     * Drops every note, e.g. after a bulk write.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        notes.clear();
+        sizeBytes = 0;
+    }
+
+    public synchronized int getCount() {
+        return notes.size();
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Gets the share of lookups served from memory.
+     *
+     * @return Hits divided by lookups, or 0 if there were none
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "NoteCache{notes=%d bytes=%d/%d hits=%d misses=%d hitRate=%.2f evictions=%d}",
+                notes.size(), sizeBytes, maxBytes, hits, misses, getHitRate(), evictions);
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.dailyquotes_1.repository;
+
+import android.content.Context;
+
+import com.example.dailyquotes_1.database.AppDatabase;
+import com.example.dailyquotes_1.database.DatabaseProvider;
+import com.example.dailyquotes_1.database.NoteBodyDao;
+import com.example.dailyquotes_1.database.NoteColdStorage;
+import com.example.dailyquotes_1.database.NoteDao;
+import com.example.dailyquotes_1.database.NoteDraftDao;
+import com.example.dailyquotes_1.database.NoteTombstones;
+import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.model.NoteDraft;
+import com.example.dailyquotes_1.model.NoteSearchResult;
+import com.example.dailyquotes_1.model.NoteSummary;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Repository for notes, with a read-through in-memory cache of full notes.
+ *
+ * Opening a note is served from the NoteCache when it was recently opened
+ * or shown in the list; list and search queries cache every row whose
+ * preview is the whole description. All note writes must go through this
+ * class so the cache is invalidated; invalidation happens after the write
+ * has committed. Saving a note also discards its draft.
+ *
+ * Long bodies are moved to NoteColdStorage when saved, and old ones by
+ * moveColdBodies(); notes handed out here always carry the full body.
+ * Deleting is a soft delete (see NoteTombstones) that restoreNote() undoes
+ * until purgeDeletedNotes() removes the note and its draft for good.
+ *
+ * Methods run database queries and must be called off the main thread.
+ */
+public class NoteRepository {
+
+    private static final long CACHE_SIZE_BYTES = 1024 * 1024;
+
+    private static volatile NoteRepository instance;
+
+    private final AppDatabase database;
+    private final NoteDao noteDao;
+    private final NoteDraftDao draftDao;
+    private final NoteBodyDao bodyDao;
+    private final NoteColdStorage coldStorage;
+    private final NoteTombstones tombstones;
+    private final NoteCache cache;
+
+    /**
+     * Private constructor; use getInstance().
+     *
+     * @param database The app database
+     * @param cache Cache of full notes
+     */
+    private NoteRepository(AppDatabase database, NoteCache cache) {
+        this.database = database;
+        this.noteDao = database.noteDao();
+        this.draftDao = database.noteDraftDao();
+        this.bodyDao = database.noteBodyDao();
+        this.coldStorage = new NoteColdStorage(database);
+        this.tombstones = new NoteTombstones(database);
+        this.cache = cache;
+    }
+
+    /**
+     * Gets or creates the NoteRepository instance using double-checked locking.
+     *
+     * @param context Any context
+     * @return NoteRepository singleton instance
+     */
+    public static NoteRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (NoteRepository.class) {
+                if (instance == null) {
+                    instance = new NoteRepository(DatabaseProvider.getDatabase(context),
+                            new NoteCache(CACHE_SIZE_BYTES));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the note cache, e.g. to read its hit rate and eviction counters.
+     *
+     * @return NoteCache instance
+     */
+    public NoteCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Gets a full note, from memory if it is cached. A body in cold storage
+     * is inflated here.
+     *
+     * @param noteId The ID of the note
+     * @return The note, or null if not found or deleted
+     */
+    public Note getNote(long noteId) {
+        Note note = cache.get(noteId);
+        if (note != null) {
+            return note;
+        }
+
+        long generation = cache.getGeneration();
+        note = noteDao.getNoteById(noteId);
+        if (note != null && note.isBodyCold()) {
+            // Read again with the body in one transaction, so a write cannot
+            // move the body back in between
+            note = database.runInTransaction(() -> {
+                Note full = noteDao.getNoteById(noteId);
+                if (full != null) {
+                    coldStorage.restoreBodies(Collections.singletonList(full));
+                }
+                return full;
+            });
+        }
+        if (note == null || note.getDeletedAt() != null) {
+            return null;
+        }
+        cache.put(note, generation);
+        return note;
+    }
+
+    /**
+     * See NoteDao.getFirstNotesPage; complete rows are cached.
+     *
+     * @param limit Maximum number of notes
+     * @return Up to limit notes, newest first
+     */
+    public List<NoteSummary> getFirstNotesPage(int limit) {
+        long generation = cache.getGeneration();
+        return cacheSummaries(noteDao.getFirstNotesPage(limit), generation);
+    }
+
+    /**
+     * See NoteDao.getNotesAfter; complete rows are cached.
+     *
+     * @param createdAt created_at of the last note already loaded
+     * @param id id of the last note already loaded
+     * @param limit Maximum number of notes
+     * @return Up to limit notes after the key, newest first
+     */
+    public List<NoteSummary> getNotesAfter(long createdAt, long id, int limit) {
+        long generation = cache.getGeneration();
+        return cacheSummaries(noteDao.getNotesAfter(createdAt, id, limit), generation);
+    }
+
+    /**
+     * See NoteDao.getNotesBefore; complete rows are cached.
+     *
+     * @param createdAt created_at of the first note already loaded
+     * @param id id of the first note already loaded
+     * @param limit Maximum number of notes
+     * @return Up to limit notes before the key, oldest first
+     */
+    public List<NoteSummary> getNotesBefore(long createdAt, long id, int limit) {
+        long generation = cache.getGeneration();
+        return cacheSummaries(noteDao.getNotesBefore(createdAt, id, limit), generation);
+    }
+
+    /**
+     * See NoteDao.getNotesFrom; complete rows are cached.
+     *
+     * @param createdAt created_at of the first note in the window
+     * @param id id of the first note in the window
+     * @param limit Maximum number of notes
+     * @return Up to limit notes from the key, newest first
+     */
+    public List<NoteSummary> getNotesFrom(long createdAt, long id, int limit) {
+        long generation = cache.getGeneration();
+        return cacheSummaries(noteDao.getNotesFrom(createdAt, id, limit), generation);
+    }
+
+    /**
+     * See NoteDao.searchNotes; complete rows are cached.
+     *
+     * @param text Text typed by the user
+     * @param limit Maximum number of results
+     * @return Best matches first
+     */
+    public List<NoteSearchResult> searchNotes(String text, int limit) {
+        long generation = cache.getGeneration();
+        List<NoteSearchResult> results = noteDao.searchNotes(text, limit);
+        for (NoteSearchResult result : results) {
+            cacheSummary(result.getSummary(), generation);
+        }
+        return results;
+    }
+
+    /**
+     * Reads full notes after a key for walking the whole table (see
+     * NoteDao.getFullNotesAfter), with cold bodies inflated. Not cached, so
+     * an export does not flush the notes the user is working with.
+     *
+     * @param createdAt created_at of the last note already read
+     * @param id id of the last note already read
+     * @param limit Maximum number of notes
+     * @return Up to limit notes after the key, newest first
+     */
+    public List<Note> getFullNotesAfter(long createdAt, long id, int limit) {
+        return database.runInTransaction(() -> {
+            List<Note> notes = noteDao.getFullNotesAfter(createdAt, id, limit);
+            coldStorage.restoreBodies(notes);
+            return notes;
+        });
+    }
+
+    /**
+     * Inserts or updates a batch of notes matched by UUID (see
+     * NoteDao.upsertNotesByUuid) and drops the updated notes from the cache.
+     * The notes carry full bodies and are written inline, replacing any cold
+     * body; moveColdBodies() moves them later. Importing a note that was
+     * deleted brings it back.
+     *
+     * @param notes The notes to write
+     */
+    public void upsertNotesByUuid(List<Note> notes) {
+        database.runInTransaction(() -> {
+            for (Note note : notes) {
+                note.setBodyCold(false);
+            }
+            // The DAO resolves each UUID once; updated rows drop their cold body
+            List<Long> existingIds = noteDao.upsertNotesByUuid(notes);
+            if (!existingIds.isEmpty()) {
+                bodyDao.deleteBodies(existingIds);
+            }
+        });
+        for (Note note : notes) {
+            // New notes keep id 0 and cannot be cached yet
+            if (note.getId() != 0) {
+                cache.invalidate(note.getId());
+            }
+        }
+    }
+
+    /**
+     * Inserts a new note and discards the new-note draft. A large body goes
+     * straight to cold storage.
+     *
+     * @param note The note; its id is set to the new row id
+     * @return The new row id
+     */
+    public long insertNote(Note note) {
+        long id = database.runInTransaction(() -> {
+            long rowId = noteDao.insertNote(note);
+            draftDao.deleteDraft(NoteDraft.NEW_NOTE_ID);
+            if (NoteColdStorage.isLarge(note.getDescription())) {
+                note.setBodyCold(coldStorage.moveToCold(Collections.singletonList(rowId)) > 0);
+            }
+            return rowId;
+        });
+        note.setId(id);
+        cache.put(note, cache.getGeneration());
+        return id;
+    }
+
+    /**
+     * Replaces the title and description of a note with a single UPDATE (see
+     * NoteDao.updateNoteContent) and discards its draft. The new body is
+     * written inline and replaces a cold one; a large body goes back to cold
+     * storage. If the note is gone or deleted nothing changes, so its draft
+     * and cold body are kept.
+     *
+     * @param noteId The ID of the note
+     * @param title New title
+     * @param description New description
+     * @param updatedAt Epoch millis of the edit
+     * @return true if the note still existed and was updated
+     */
+    public boolean updateNoteContent(long noteId, String title, String description, long updatedAt) {
+        int updated = database.runInTransaction(() -> {
+            int rows = noteDao.updateNoteContent(noteId, title, description, updatedAt);
+            if (rows == 0) {
+                return 0;
+            }
+            draftDao.deleteDraft(noteId);
+            bodyDao.deleteBody(noteId);
+            if (NoteColdStorage.isLarge(description)) {
+                coldStorage.moveToCold(Collections.singletonList(noteId));
+            }
+            return rows;
+        });
+        cache.invalidate(noteId);
+        return updated > 0;
+    }
+
+    /**
+     * Soft-deletes a note: one UPDATE that hides it everywhere. Its draft
+     * and cold body are kept so restoreNote() can undo the delete.
+     *
+     * @param noteId The ID of the note
+     * @return true if a live note was deleted
+     */
+    public boolean deleteNote(long noteId) {
+        boolean deleted = tombstones.softDelete(noteId, System.currentTimeMillis());
+        cache.invalidate(noteId);
+        return deleted;
+    }
+
+    /**
+     * Undoes deleteNote() if the note has not been purged yet.
+     *
+     * @param noteId The ID of the note
+     * @return true if the note was restored
+     */
+    public boolean restoreNote(long noteId) {
+        return tombstones.restore(noteId);
+    }
+
+    /**
+     * Permanently removes the next batch of notes deleted more than
+     * NoteTombstones.PURGE_AFTER_MS ago (see NoteTombstones.purge).
+     *
+     * @param now Current epoch millis
+     * @return Number of notes purged; 0 when there is nothing left
+     */
+    public int purgeDeletedNotes(long now) {
+        List<Long> purged = tombstones.purge(now);
+        for (long noteId : purged) {
+            cache.invalidate(noteId);
+        }
+        return purged.size();
+    }
+
+    /**
+     * Moves the next batch of long bodies and bodies of notes not edited for
+     * NoteColdStorage.COLD_AFTER_MS to cold storage. Cached notes stay valid,
+     * as their text does not change.
+     *
+     * @param now Current epoch millis
+     * @return Number of notes moved; 0 when there is nothing left
+     */
+    public int moveColdBodies(long now) {
+        return coldStorage.moveColdBodies(now);
+    }
+
+    /**
+     * Caches the notes of a list page that are complete.
+     *
+     * @param summaries Rows just read
+     * @param generation Cache generation from before the read
+     * @return The same rows
+     */
+    private List<NoteSummary> cacheSummaries(List<NoteSummary> summaries, long generation) {
+        for (NoteSummary summary : summaries) {
+            cacheSummary(summary, generation);
+        }
+        return summaries;
+    }
+
+    /**
+     * Caches one row if its preview is the whole description.
+     *
+     * @param summary Row just read
+     * @param generation Cache generation from before the read
+     */
+    private void cacheSummary(NoteSummary summary, long generation) {
+        if (summary.hasFullDescription()) {
+            cache.put(summary.toNote(), generation);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.dailyquotes_1.repository;
+
+import com.example.dailyquotes_1.database.DatabaseExecutors;
+import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.util.UuidBytes;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Streams notes to and from JSON Lines (one JSON object per line):
+ * {"id":"...","title":"...","description":"...","created_at":1700000000000,"updated_at":1700000000000}
+ * The id is the note's UUID, so importing a file into another install
+ * updates notes it already has instead of duplicating them.
+ *
+ * Neither direction holds more than one batch of notes in memory: export walks
+ * the table with keyset batches, import parses line by line and writes each
+ * batch with a single upsert transaction. Only those per-batch steps run on
+ * the database executors: each export query is a separate task on the read
+ * lane and each imported batch one on the write lane, so screens wait for at
+ * most one batch. File I/O and JSON run on the calling thread, which must be
+ * a thread of its own (see NoteTransferWorker), not the main thread or a
+ * database lane.
+ */
+public class NoteTransfer {
+
+    /** Notes per transaction / per export query unless configured otherwise. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Counts from an import.
+     */
+    public static final class ImportResult {
+        public final int imported;
+        public final int skipped;
+
+        ImportResult(int imported, int skipped) {
+            this.imported = imported;
+            this.skipped = skipped;
+        }
+
+        @Override
+        public String toString() {
+            return "ImportResult{imported=" + imported + ", skipped=" + skipped + '}';
+        }
+    }
+
+    private final NoteRepository noteRepository;
+    private final DatabaseExecutors executors;
+    private final int batchSize;
+
+    /**
+     * Constructor.
+     *
+     * @param noteRepository Repository for the notes table
+     * @param batchSize Notes per transaction when importing and per query when exporting
+     */
+    public NoteTransfer(NoteRepository noteRepository, int batchSize) {
+        this.noteRepository = noteRepository;
+        this.executors = DatabaseExecutors.getInstance();
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Writes every note to a stream as JSON Lines, newest first.
+     * The stream is flushed but not closed.
+     *
+     * @param out Destination stream
+     * @return Number of notes written
+     * @throws IOException If reading a batch or writing fails
+     */
+    public int exportNotes(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        int written = 0;
+        long lastCreatedAt = Long.MAX_VALUE;
+        long lastId = Long.MAX_VALUE;
+
+        while (true) {
+            List<Note> batch = readBatch(lastCreatedAt, lastId);
+            for (Note note : batch) {
+                writer.write(toJsonLine(note));
+                writer.write('\n');
+            }
+            written += batch.size();
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+            Note last = batch.get(batch.size() - 1);
+            lastCreatedAt = last.getCreatedAt();
+            lastId = last.getId();
+        }
+
+        writer.flush();
+        return written;
+    }
+
+    /**
+     * Reads notes from a JSON Lines stream and upserts them by UUID, one
+     * write task and transaction per batch; the stream is parsed on the
+     * calling thread. Blank and malformed lines are skipped. Notes
+     * without an id get a new one; missing timestamps default to now.
+     * The stream is not closed.
+     *
+     * @param in Source stream
+     * @return Number of notes imported and lines skipped
+     * @throws IOException If reading or writing a batch fails
+     */
+    public ImportResult importNotes(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Note> batch = new ArrayList<>(batchSize);
+        int imported = 0;
+        int skipped = 0;
+        long now = System.currentTimeMillis();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            Note note = fromJsonLine(line, now);
+            if (note == null) {
+                skipped++;
+                continue;
+            }
+
+            batch.add(note);
+            if (batch.size() == batchSize) {
+                imported += writeBatch(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            imported += writeBatch(batch);
+        }
+        return new ImportResult(imported, skipped);
+    }
+
+    /**
+     * Queries one export batch on the database read lane and waits for it.
+     *
+     * @param lastCreatedAt created_at of the last note already written
+     * @param lastId Id of the last note already written
+     * @return Up to batchSize notes after that one
+     * @throws IOException If the query failed or the wait was interrupted
+     */
+    private List<Note> readBatch(long lastCreatedAt, long lastId) throws IOException {
+        try {
+            return executors.read(() -> noteRepository.getFullNotesAfter(lastCreatedAt, lastId, batchSize));
+        } catch (ExecutionException e) {
+            throw new IOException("Could not export notes", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        }
+    }
+
+    /**
+     * Upserts one batch on the database write thread and waits for it.
+     *
+     * @param batch Notes to write
+     * @return Number of notes written
+     * @throws IOException If the write failed or the wait was interrupted
+     */
+    private int writeBatch(List<Note> batch) throws IOException {
+        try {
+            return executors.write(() -> {
+                noteRepository.upsertNotesByUuid(batch);
+                return batch.size();
+            });
+        } catch (ExecutionException e) {
+            throw new IOException("Could not import notes", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        }
+    }
+
+    /**
+     * Encodes a note as a single JSON line (without the newline).
+     *
+     * @param note The note
+     * @return JSON object text
+     * @throws IOException Never for an in-memory writer
+     */
+    static String toJsonLine(Note note) throws IOException {
+        StringWriter text = new StringWriter();
+        JsonWriter out = new JsonWriter(text);
+        out.beginObject();
+        // The row id is local to this database; the UUID identifies the note anywhere
+        out.name("id").value(UuidBytes.toString(note.getUuid()));
+        out.name("title").value(note.getTitle());
+        out.name("description").value(note.getDescription());
+        out.name("created_at").value(note.getCreatedAt());
+        out.name("updated_at").value(note.getUpdatedAt());
+        out.endObject();
+        out.close();
+        return text.toString();
+    }
+
+    /**
+     * Decodes one JSON line into a note. Unknown fields are ignored.
+     *
+     * @param line JSON object text
+     * @param now Timestamp used when created_at / updated_at are missing
+     * @return The note, or null if the line is not a valid note object
+     */
+    static Note fromJsonLine(String line, long now) {
+        Note note = new Note();
+        String id = null;
+        long createdAt = 0;
+        long updatedAt = 0;
+
+        try (JsonReader in = new JsonReader(new StringReader(line))) {
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "id":
+                        id = in.nextString();
+                        break;
+                    case "title":
+                        note.setTitle(in.nextString());
+                        break;
+                    case "description":
+                        note.setDescription(in.nextString());
+                        break;
+                    case "created_at":
+                        createdAt = in.nextLong();
+                        break;
+                    case "updated_at":
+                        updatedAt = in.nextLong();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            return null;
+        }
+
+        note.setUuid(id == null || id.isEmpty() ? UuidBytes.random() : UuidBytes.fromString(id));
+        note.setCreatedAt(createdAt > 0 ? createdAt : now);
+        note.setUpdatedAt(updatedAt > 0 ? updatedAt : note.getCreatedAt());
+        return note;
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.dailyquotes_1.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.dailyquotes_1.database.DatabaseExecutors;
+import com.example.dailyquotes_1.database.DatabaseProvider;
+import com.example.dailyquotes_1.database.QuoteDao;
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
+import com.example.dailyquotes_1.network.RetrofitClient;
+import com.example.dailyquotes_1.util.NetworkUtils;
+import com.example.dailyquotes_1.util.PreferencesManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Offline-first repository for paginated quotes.
+ * Each page is served from the Room cache first (stale-while-revalidate),
+ * then refetched from the API in the background and written back to Room.
+ * Cache reads and writes run on the shared database executors at UI
+ * priority, since a visible list is waiting for them.
+ * All callbacks are delivered on the main thread.
+ */
+public class QuoteRepository {
+
+    /**
+     * Receives the results of a page load.
+     */
+    public interface PageCallback {
+        /**
+         * Called with the cached copy of the page, if one exists.
+         *
+         * @param quotes Cached quotes in the page
+         * @param total Last known total number of quotes
+         */
+        void onCachedPage(List<Quote> quotes, int total);
+
+        /**
+         * Called with the revalidated page from the API.
+         *
+         * @param quotes Fresh quotes in the page (may be empty past the end)
+         * @param total Total number of quotes reported by the API
+         */
+        void onFreshPage(List<Quote> quotes, int total);
+
+        /**
+         * Called when the device is offline and revalidation was skipped.
+         *
+         * @param servedFromCache true if onCachedPage was already delivered
+         */
+        void onOffline(boolean servedFromCache);
+
+        /**
+         * Called when revalidation failed.
+         *
+         * @param message Human readable failure reason
+         * @param servedFromCache true if onCachedPage was already delivered
+         */
+        void onFailure(String message, boolean servedFromCache);
+    }
+
+    private static final int DEFAULT_MIN_PAGE_SIZE = 10;
+    private static final int DEFAULT_MAX_PAGE_SIZE = 100;
+    private static final long PAGE_LATENCY_BUDGET_MS = 1500;
+
+    private static volatile QuoteRepository instance;
+
+    private final Context appContext;
+    private final QuoteDao quoteDao;
+    private final DatabaseExecutors executors;
+    private final Handler mainHandler;
+    private final AdaptivePageSizer pageSizer;
+    private final File snapshotFile;
+
+    /**
+     * Private constructor; use getInstance().
+     *
+     * @param context Application context
+     */
+    private QuoteRepository(Context context) {
+        this.appContext = context.getApplicationContext();
+        this.quoteDao = DatabaseProvider.getDatabase(appContext).quoteDao();
+        this.executors = DatabaseExecutors.getInstance();
+        this.mainHandler = new Handler(Looper.getMainLooper());
+        this.pageSizer = new AdaptivePageSizer(DEFAULT_MIN_PAGE_SIZE, DEFAULT_MAX_PAGE_SIZE,
+                PAGE_LATENCY_BUDGET_MS);
+        this.snapshotFile = QuoteSnapshot.getFile(appContext);
+        PreferencesManager.init(appContext);
+        RetrofitClient.init(appContext);
+    }
+
+    /**
+     * Gets or creates the QuoteRepository instance using double-checked locking.
+     *
+     * @param context Any context; the application context is retained
+     * @return QuoteRepository singleton instance
+     */
+    public static QuoteRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (QuoteRepository.class) {
+                if (instance == null) {
+                    instance = new QuoteRepository(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the page sizer fed by every network response this repository sees.
+     * Shared across screens so what it learned about the link survives recreation.
+     *
+     * @return AdaptivePageSizer instance
+     */
+    public AdaptivePageSizer getPageSizer() {
+        return pageSizer;
+    }
+
+    /**
+     * Handle for an in-progress page load.
+     * Cancelling it aborts the network call and suppresses any further callbacks.
+     */
+    public static final class PageRequest {
+
+        private volatile boolean cancelled;
+        private volatile Call<?> call;
+
+        /**
+         * Cancels the load. Safe to call more than once.
+         */
+        public void cancel() {
+            cancelled = true;
+            Call<?> inFlight = call;
+            if (inFlight != null) {
+                inFlight.cancel();
+            }
+        }
+
+        /**
+         * Checks whether cancel() has been called.
+         *
+         * @return true if the load was cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Loads one page of quotes.
+     * Delivers the cached page immediately (if any), then revalidates it
+     * against the API when online.
+     *
+     * @param limit Page size
+     * @param skip Absolute position of the first quote
+     * @param callback Receives cached and fresh results on the main thread
+     * @return Handle that can cancel the load
+     */
+    public PageRequest loadPage(int limit, int skip, PageCallback callback) {
+        PageRequest request = new PageRequest();
+
+        executors.executeRead(DatabaseExecutors.Priority.UI, () -> {
+            if (request.isCancelled()) {
+                return;
+            }
+
+            List<Quote> cached = quoteDao.getQuotesPage(limit, skip);
+            int cachedTotal = PreferencesManager.getQuotesTotal();
+            boolean hasCache = !cached.isEmpty();
+
+            if (hasCache) {
+                postUnlessCancelled(request, () -> callback.onCachedPage(cached, cachedTotal));
+            }
+
+            if (!NetworkUtils.isOnline(appContext)) {
+                postUnlessCancelled(request, () -> callback.onOffline(hasCache));
+                return;
+            }
+
+            revalidate(request, limit, skip, cached, callback);
+        });
+
+        return request;
+    }
+
+    /**
+     * Fetches the page from the API and writes it to the cache if it changed.
+     *
+     * @param request Handle used to check for and perform cancellation
+     * @param limit Page size
+     * @param skip Absolute position of the first quote
+     * @param cached Cached copy of the page (possibly empty)
+     * @param callback Receives the fresh result on the main thread
+     */
+    private void revalidate(PageRequest request, int limit, int skip, List<Quote> cached,
+                            PageCallback callback) {
+        boolean hasCache = !cached.isEmpty();
+
+        Call<QuoteResponse> call = RetrofitClient.getQuotesApiService().getQuotes(limit, skip);
+        request.call = call;
+        if (request.isCancelled()) {
+            return;
+        }
+
+        call.enqueue(new Callback<QuoteResponse>() {
+            @Override
+            public void onResponse(Call<QuoteResponse> call, Response<QuoteResponse> response) {
+                recordNetworkSample(response);
+
+                if (!response.isSuccessful() || response.body() == null) {
+                    postUnlessCancelled(request, () -> callback.onFailure(
+                            "Failed to load quotes: " + response.code(), hasCache));
+                    return;
+                }
+
+                QuoteResponse quoteResponse = response.body();
+                List<Quote> fresh = quoteResponse.getQuotes() != null
+                        ? quoteResponse.getQuotes() : List.of();
+                int total = quoteResponse.getTotal();
+
+                executors.executeWrite(DatabaseExecutors.Priority.UI, () -> {
+                    PreferencesManager.setQuotesTotal(total);
+                    boolean changed = !fresh.equals(cached);
+                    if (changed) {
+                        long now = System.currentTimeMillis();
+                        for (int i = 0; i < fresh.size(); i++) {
+                            Quote quote = fresh.get(i);
+                            quote.setPosition(skip + i);
+                            quote.setCachedAt(now);
+                        }
+                        quoteDao.replacePage(skip, limit, fresh);
+                    }
+                    if (skip == 0 && !fresh.isEmpty() && (changed || !snapshotFile.exists())) {
+                        writeSnapshot(fresh);
+                    }
+                    postUnlessCancelled(request, () -> callback.onFreshPage(fresh, total));
+                });
+            }
+
+            @Override
+            public void onFailure(Call<QuoteResponse> call, Throwable t) {
+                postUnlessCancelled(request, () -> callback.onFailure(
+                        "Error loading quotes: " + t.getMessage(), hasCache));
+            }
+        });
+    }
+
+    /**
+     * Replaces the cold-start snapshot with the first page.
+     * Runs on the database write thread, so snapshot writes never overlap.
+     *
+     * @param firstPage Fresh quotes at position 0
+     */
+    private void writeSnapshot(List<Quote> firstPage) {
+        try {
+            QuoteSnapshot.write(snapshotFile, firstPage);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Feeds the page sizer with the latency of a response that went to the network.
+     * A 304 revalidation counts as a round-trip with no payload.
+     *
+     * @param response The API response
+     */
+    private void recordNetworkSample(Response<QuoteResponse> response) {
+        okhttp3.Response raw = response.raw();
+        okhttp3.Response network = raw.networkResponse();
+        if (network == null) {
+            // Served from the HTTP cache; says nothing about the link
+            return;
+        }
+
+        long latencyMs = raw.receivedResponseAtMillis() - raw.sentRequestAtMillis();
+        int items = 0;
+        if (network.code() != 304 && response.body() != null && response.body().getQuotes() != null) {
+            items = response.body().getQuotes().size();
+        }
+        pageSizer.recordSample(items, latencyMs);
+    }
+
+    /**
+     * Posts a callback to the main thread, dropping it if the request is cancelled by then.
+     *
+     * @param request The request the callback belongs to
+     * @param action The callback invocation
+     */
+    private void postUnlessCancelled(PageRequest request, Runnable action) {
+        mainHandler.post(() -> {
+            if (!request.isCancelled()) {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.dailyquotes_1.repository;
+
+import android.content.Context;
+
+import com.example.dailyquotes_1.model.Quote;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Compact binary snapshot of the most recently seen first page of quotes,
+ * used to render the quote list on a cold start before Retrofit, Gson or
+ * Room are initialised.
+ *
+ * File layout (big-endian):
+ * - header: int magic, int version, int count
+ * - index: int[count] absolute offset of each record
+ * - records: int id, int length + UTF-8 content, int length + UTF-8 author
+ *
+ * The file is memory-mapped and each record is decoded only when its row is
+ * first read. Writers build the file next to the target and rename it into
+ * place, so a reader always sees either the old or the new snapshot whole.
+ */
+public class QuoteSnapshot {
+
+    private static final String FILE_NAME = "quote_snapshot.bin";
+    private static final int MAGIC = 0x51534E50; // "QSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final Quote[] decoded;
+
+    /**
+     * Private constructor; use open().
+     *
+     * @param buffer Mapped file contents, already validated
+     * @param count Number of records
+     */
+    private QuoteSnapshot(ByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+        this.decoded = new Quote[count];
+    }
+
+    /**
+     * Gets the snapshot file in the app's private storage.
+     *
+     * @param context Any context
+     * @return Snapshot file (may not exist yet)
+     */
+    public static File getFile(Context context) {
+        return new File(context.getFilesDir(), FILE_NAME);
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param file Snapshot file
+     * @return The snapshot, or null if the file is missing, truncated or not
+     *         a valid snapshot
+     */
+    public static QuoteSnapshot open(File file) {
+        if (!file.isFile() || file.length() < HEADER_BYTES) {
+            return null;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            int count = buffer.getInt(8);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || count < 0 || HEADER_BYTES + 4L * count > buffer.capacity()
+                    || !recordsInBounds(buffer, count)) {
+                return null;
+            }
+            return new QuoteSnapshot(buffer, count);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Checks that every record the index points to lies inside the file, so
+     * get() cannot fail later while a row is bound. Only the fixed-size
+     * fields are read; the strings are still decoded lazily.
+     *
+     * @param buffer Mapped file contents with a valid header
+     * @param count Number of records
+     * @return true if all offsets and lengths are in bounds
+     */
+    private static boolean recordsInBounds(ByteBuffer buffer, int count) {
+        long limit = buffer.capacity();
+        long recordsStart = HEADER_BYTES + 4L * count;
+        for (int i = 0; i < count; i++) {
+            long position = buffer.getInt(HEADER_BYTES + 4 * i);
+            if (position < recordsStart) {
+                return false;
+            }
+            // id, then two length-prefixed strings
+            position += 4;
+            for (int field = 0; field < 2; field++) {
+                if (position + 4 > limit) {
+                    return false;
+                }
+                int length = buffer.getInt((int) position);
+                if (length < 0 || position + 4 + length > limit) {
+                    return false;
+                }
+                position += 4 + length;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Atomically replaces the snapshot file with the given quotes.
+     *
+     * @param file Snapshot file
+     * @param quotes Quotes to store, in display order
+     * @throws IOException If the file could not be written
+     */
+    public static void write(File file, List<Quote> quotes) throws IOException {
+        int count = quotes.size();
+        ByteArrayOutputStream records = new ByteArrayOutputStream(count * 128);
+        DataOutputStream out = new DataOutputStream(records);
+        int[] offsets = new int[count];
+        int recordsStart = HEADER_BYTES + 4 * count;
+
+        for (int i = 0; i < count; i++) {
+            Quote quote = quotes.get(i);
+            offsets[i] = recordsStart + out.size();
+            out.writeInt(quote.getId());
+            writeString(out, quote.getContent());
+            writeString(out, quote.getAuthor());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(recordsStart);
+        header.putInt(MAGIC).putInt(VERSION).putInt(count);
+        for (int offset : offsets) {
+            header.putInt(offset);
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp)) {
+            fos.write(header.array());
+            records.writeTo(fos);
+            fos.getFD().sync();
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string; null is stored as empty.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Gets the number of quotes in the snapshot.
+     *
+     * @return Quote count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets a quote, decoding its record on first access.
+     * Synchronized because a list differ may read the snapshot off the main thread.
+     *
+     * @param position Index of the quote
+     * @return The decoded quote
+     */
+    public synchronized Quote get(int position) {
+        Quote quote = decoded[position];
+        if (quote == null) {
+            quote = decode(buffer.getInt(HEADER_BYTES + 4 * position));
+            decoded[position] = quote;
+        }
+        return quote;
+    }
+
+    /**
+     * Gets a read-only list view of the snapshot. Elements are decoded when
+     * first read, not when the view is created.
+     *
+     * @return List view backed by this snapshot
+     */
+    public List<Quote> asList() {
+        return new AbstractList<Quote>() {
+            @Override
+            public Quote get(int index) {
+                return QuoteSnapshot.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Decodes the record at an offset.
+     *
+     * @param offset Absolute offset of the record
+     * @return The quote
+     */
+    private Quote decode(int offset) {
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset);
+        int id = record.getInt();
+        String content = readString(record);
+        String author = readString(record);
+
+        Quote quote = new Quote(content, author);
+        quote.setId(id);
+        return quote;
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     */
+    private static String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getInt()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.dailyquotes_1.repository;
+
+import com.example.dailyquotes_1.database.AppDatabase;
+import com.example.dailyquotes_1.database.DatabaseExecutors;
+import com.example.dailyquotes_1.model.Quote;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Quote consumer that writes streamed quotes to the Room cache in batches.
+ * Quotes are stamped with consecutive positions from the starting offset and
+ * committed every batchSize quotes, so memory stays bounded by one batch no
+ * matter how large the streamed response is. Each batch is a separate task
+ * on the database write thread, and the reading thread waits for it.
+ * Not thread-safe; use from the thread reading the stream, never from the
+ * write thread itself.
+ */
+public class StreamingQuoteWriter implements Consumer<Quote> {
+
+    private final AppDatabase database;
+    private final DatabaseExecutors executors;
+    private final int batchSize;
+    private final List<Quote> buffer;
+    private final long cachedAt;
+    private int nextPosition;
+    private int written;
+
+    /**
+     * Constructor.
+     *
+     * @param database Database to write to
+     * @param startPosition Absolute position of the first streamed quote
+     * @param batchSize Number of quotes per transaction
+     */
+    public StreamingQuoteWriter(AppDatabase database, int startPosition, int batchSize) {
+        this.database = database;
+        this.executors = DatabaseExecutors.getInstance();
+        this.batchSize = batchSize;
+        this.buffer = new ArrayList<>(batchSize);
+        this.cachedAt = System.currentTimeMillis();
+        this.nextPosition = startPosition;
+    }
+
+    @Override
+    public void accept(Quote quote) {
+        quote.setPosition(nextPosition++);
+        quote.setCachedAt(cachedAt);
+        buffer.add(quote);
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Commits any buffered quotes. Call once the stream has been fully read.
+     *
+     * @throws UncheckedIOException if the write failed or the wait was
+     *         interrupted; Consumer.accept cannot throw IOException
+     */
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<Quote> batch = new ArrayList<>(buffer);
+        commit(batch.get(0).getPosition(), batch);
+        written += batch.size();
+        buffer.clear();
+    }
+
+    /**
+     * Writes one batch on the database write thread and waits for it.
+     *
+     * @param firstPosition Position of the first quote in the batch
+     * @param batch Quotes at consecutive positions
+     * @throws UncheckedIOException if the write failed or the wait was interrupted
+     */
+    protected void commit(int firstPosition, List<Quote> batch) {
+        try {
+            executors.write(() -> {
+                database.quoteDao().replacePage(firstPosition, batch.size(), batch);
+                return null;
+            });
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException(new IOException("Could not store quotes", e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Quote stream interrupted"));
+        }
+    }
+
+    /**
+     * Gets the number of quotes committed so far.
+     *
+     * @return Number of quotes written
+     */
+    public int getWrittenCount() {
+        return written;
+    }
+}
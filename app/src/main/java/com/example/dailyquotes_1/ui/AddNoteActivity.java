@@ -1,6 +1,9 @@
 package com.example.dailyquotes_1.ui;
 
+import android.content.Intent;
 import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.widget.EditText;
 import android.widget.Toast;
 
@@ -9,35 +12,42 @@ import androidx.appcompat.widget.Toolbar;
 
 import com.example.dailyquotes_1.R;
 import com.example.dailyquotes_1.database.AppDatabase;
+import com.example.dailyquotes_1.database.DatabaseExecutors;
 import com.example.dailyquotes_1.database.DatabaseProvider;
+import com.example.dailyquotes_1.database.TaskScope;
 import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.model.NoteDraft;
+import com.example.dailyquotes_1.repository.NoteRepository;
 import com.google.android.material.button.MaterialButton;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-
 /**
  * AddNoteActivity allows users to create new notes or edit existing ones.
  * Features:
  * - Form with title and description input fields
  * - Automatic timestamp capture when saving
  * - Support for both create and edit modes (detected via intent extras)
- * - Delete option via menu
- * - Background database operations using Executor
+ * - Delete option via menu; the screen closes at once and returns the
+ *   deleted note's id so the list can offer undo
+ * - Draft autosave: edits are written in the background while typing and
+ *   restored when the note is reopened, until the note is saved or deleted
+ * - Background database operations on the shared database executors
  */
 public class AddNoteActivity extends AppCompatActivity {
 
+    /** Intent extra (long) with the id of the note to edit; absent to create a note. */
+    public static final String EXTRA_NOTE_ID = "note_id";
+    /** Result extra (long) with the id of the note deleted on this screen. */
+    public static final String EXTRA_DELETED_NOTE_ID = "deleted_note_id";
+
     private EditText titleEditText;
     private EditText descriptionEditText;
     private MaterialButton saveButton;
     private AppDatabase database;
-    private Executor executor;
+    private NoteRepository noteRepository;
+    private TaskScope tasks;
 
-    private String currentNoteId = null;
-    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    private Long currentNoteId = null;
+    private DraftAutosaver draftAutosaver;
 
     /**
      * Called when the activity is first created.
@@ -57,11 +67,12 @@ public class AddNoteActivity extends AppCompatActivity {
             getSupportActionBar().setDisplayHomeAsUpEnabled(true);
         }
 
-        // Initialize executor for background database operations
-        executor = Executors.newSingleThreadExecutor();
+        // Database work runs on the shared executors; pending reads are dropped on destroy
+        tasks = DatabaseExecutors.getInstance().scope(this);
 
         // Initialize database
         database = DatabaseProvider.getDatabase(this);
+        noteRepository = NoteRepository.getInstance(this);
 
         // Initialize UI components
         titleEditText = findViewById(R.id.edit_text_title);
@@ -72,37 +83,73 @@ public class AddNoteActivity extends AppCompatActivity {
         saveButton.setOnClickListener(v -> saveNote());
 
         // Check if this is edit mode
-        String noteId = getIntent().getStringExtra("note_id");
-        if (noteId != null) {
-            currentNoteId = noteId;
-            loadNoteForEditing(noteId);
+        if (getIntent().hasExtra(EXTRA_NOTE_ID)) {
+            currentNoteId = getIntent().getLongExtra(EXTRA_NOTE_ID, 0);
+            // Update toolbar title to indicate edit mode
+            if (getSupportActionBar() != null) {
+                getSupportActionBar().setTitle("Edit Note");
+            }
+        }
+
+        draftAutosaver = new DraftAutosaver(database.noteDraftDao(), tasks, getDraftId(),
+                titleEditText, descriptionEditText);
+        if (savedInstanceState == null) {
+            loadNoteAndDraft();
+        } else {
+            // Recreated: the fields already hold the restored, newest text
+            draftAutosaver.start(false);
         }
     }
 
     /**
-     * Loads an existing note for editing.
-     * Retrieves note data from database and populates the form fields.
+     * Gets the key of this screen's draft.
      *
-     * @param noteId The ID of the note to load
+     * @return The edited note's id, or NoteDraft.NEW_NOTE_ID for a new note
+     */
+    private long getDraftId() {
+        return currentNoteId != null ? currentNoteId : NoteDraft.NEW_NOTE_ID;
+    }
+
+    /**
+     * Loads the note being edited (if any) and its unsaved draft, fills the
+     * form, preferring the draft, and then starts autosaving.
      */
-    private void loadNoteForEditing(String noteId) {
-        executor.execute(() -> {
-            Note note = database.noteDao().getNoteById(noteId);
+    private void loadNoteAndDraft() {
+        Long noteId = currentNoteId;
+        long draftId = getDraftId();
 
-            if (note != null) {
-                runOnUiThread(() -> {
+        tasks.read(() -> {
+            // Usually a memory hit: the note was just shown in the list
+            Note note = noteId != null ? noteRepository.getNote(noteId) : null;
+            NoteDraft draft = database.noteDraftDao().getDraft(draftId);
+
+            runOnUiThread(() -> {
+                if (note != null) {
                     titleEditText.setText(note.getTitle());
                     descriptionEditText.setText(note.getDescription());
-
-                    // Update toolbar title to indicate edit mode
-                    if (getSupportActionBar() != null) {
-                        getSupportActionBar().setTitle("Edit Note");
-                    }
-                });
-            }
+                }
+                // A draft of a note that has since been deleted is ignored
+                boolean restore = draft != null && (noteId == null || note != null);
+                if (restore) {
+                    titleEditText.setText(draft.getTitle());
+                    descriptionEditText.setText(draft.getDescription());
+                    Toast.makeText(AddNoteActivity.this, "Draft restored", Toast.LENGTH_SHORT).show();
+                }
+                draftAutosaver.start(draft != null);
+            });
         });
     }
 
+    /**
+     * Called when the activity loses the foreground.
+     * Writes any unsaved edits to the draft so they survive process death.
+     */
+    @Override
+    protected void onPause() {
+        super.onPause();
+        draftAutosaver.flush();
+    }
+
     /**
      * Saves a new note or updates an existing one.
      * Validates input, creates/updates the Note object, and persists to database.
@@ -123,34 +170,37 @@ public class AddNoteActivity extends AppCompatActivity {
             return;
         }
 
-        // Get current timestamp
-        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT, Locale.getDefault());
-        String currentDate = dateFormat.format(new Date());
+        // Get current timestamp (formatted only for display)
+        long currentDate = System.currentTimeMillis();
+        Long noteId = currentNoteId;
 
-        executor.execute(() -> {
-            if (currentNoteId == null) {
+        // The note now holds the edits, so the draft is no longer needed
+        draftAutosaver.stop();
+
+        tasks.write(() -> {
+            if (noteId == null) {
                 // Create new note
                 Note newNote = new Note(title, description, currentDate);
-                database.noteDao().insertNote(newNote);
+                noteRepository.insertNote(newNote);
 
                 runOnUiThread(() -> {
                     Toast.makeText(AddNoteActivity.this, "Note saved successfully", Toast.LENGTH_SHORT).show();
                     finish();
                 });
             } else {
-                // Update existing note
-                Note existingNote = database.noteDao().getNoteById(currentNoteId);
-                if (existingNote != null) {
-                    existingNote.setTitle(title);
-                    existingNote.setDescription(description);
-                    existingNote.setUpdatedAt(currentDate);
-
-                    database.noteDao().updateNote(existingNote);
-
+                // Update existing note: one UPDATE of the edited columns, no read first
+                if (noteRepository.updateNoteContent(noteId, title, description, currentDate)) {
                     runOnUiThread(() -> {
                         Toast.makeText(AddNoteActivity.this, "Note updated successfully", Toast.LENGTH_SHORT).show();
                         finish();
                     });
+                } else {
+                    // The note was deleted meanwhile: keep the edits in the draft
+                    runOnUiThread(() -> {
+                        Toast.makeText(AddNoteActivity.this, "Note no longer exists; your edits are kept as a draft",
+                                Toast.LENGTH_LONG).show();
+                        draftAutosaver.resume();
+                    });
                 }
             }
         });
@@ -158,7 +208,8 @@ public class AddNoteActivity extends AppCompatActivity {
 
     /**
      * Deletes the currently edited note.
-     * Called when delete menu item is selected.
+     * Called when delete menu item is selected. The soft delete is queued on
+     * the write thread and the screen closes without waiting for it.
      */
     public void deleteNote() {
         if (currentNoteId == null) {
@@ -166,19 +217,48 @@ public class AddNoteActivity extends AppCompatActivity {
             return;
         }
 
-        executor.execute(() -> {
-            database.noteDao().deleteNoteById(currentNoteId);
+        long noteId = currentNoteId;
+        draftAutosaver.stop();
 
-            runOnUiThread(() -> {
-                Toast.makeText(AddNoteActivity.this, "Note deleted successfully", Toast.LENGTH_SHORT).show();
-                finish();
-            });
-        });
+        tasks.write(() -> noteRepository.deleteNote(noteId));
+
+        setResult(RESULT_OK, new Intent().putExtra(EXTRA_DELETED_NOTE_ID, noteId));
+        finish();
+    }
+
+    /**
+     * Inflates the delete option; shown only in edit mode, as a new note has
+     * nothing to delete yet.
+     *
+     * @param menu The options menu
+     * @return true to display the menu
+     */
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_add_note, menu);
+        menu.findItem(R.id.menu_delete).setVisible(currentNoteId != null);
+        return true;
+    }
+
+    /**
+     * Handles menu item selection.
+     *
+     * @param item The selected menu item
+     * @return true if the item was handled
+     */
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.menu_delete) {
+            deleteNote();
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
     }
 
     /**
      * Handles the toolbar back button press.
-     * Returns to the previous activity without saving.
+     * Returns to the previous activity without saving; unsaved edits stay
+     * in the draft.
      *
      * @return true if the home button was pressed, false otherwise
      */
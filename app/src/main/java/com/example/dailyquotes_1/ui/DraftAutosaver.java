@@ -0,0 +1,187 @@
+package com.example.dailyquotes_1.ui;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.widget.EditText;
+
+import com.example.dailyquotes_1.database.NoteDraftDao;
+import com.example.dailyquotes_1.database.TaskScope;
+import com.example.dailyquotes_1.model.NoteDraft;
+
+/**
+ * Write-behind autosave of the note being edited.
+ *
+ * A keystroke only marks its field dirty and restarts a timer on the main
+ * thread; the text is neither copied nor written per keystroke. Once typing
+ * pauses for DEBOUNCE_MS, or MAX_DELAY_MS after the first unsaved change
+ * so that continuous typing is still saved, each dirty field is read once
+ * and written with a single UPDATE of just those columns on the database
+ * write thread. Call flush() to write at once (e.g. from onPause) and
+ * stop() once the note itself has been saved or deleted.
+ *
+ * All methods must be called on the main thread.
+ */
+class DraftAutosaver {
+
+    static final long DEBOUNCE_MS = 1000;
+    static final long MAX_DELAY_MS = 5000;
+
+    private final NoteDraftDao draftDao;
+    private final TaskScope tasks;
+    private final long noteId;
+    private final EditText titleEditText;
+    private final EditText descriptionEditText;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+
+    private boolean titleDirty;
+    private boolean descriptionDirty;
+    // Uptime of the oldest unsaved change, or 0 when everything is saved
+    private long firstDirtyAt;
+    // Whether the draft row exists, so a column-only UPDATE is enough
+    private boolean draftSaved;
+    private boolean started;
+    private boolean stopped;
+
+    /**
+     * Constructor.
+     *
+     * @param draftDao DAO for the drafts table
+     * @param tasks Scope the writes are queued in
+     * @param noteId Id of the note being edited, or NoteDraft.NEW_NOTE_ID
+     * @param titleEditText Title field
+     * @param descriptionEditText Description field
+     */
+    DraftAutosaver(NoteDraftDao draftDao, TaskScope tasks, long noteId,
+                   EditText titleEditText, EditText descriptionEditText) {
+        this.draftDao = draftDao;
+        this.tasks = tasks;
+        this.noteId = noteId;
+        this.titleEditText = titleEditText;
+        this.descriptionEditText = descriptionEditText;
+    }
+
+    /**
+     * Starts watching the fields. Call after they have been filled in, so
+     * loading the note does not count as an edit.
+     *
+     * @param draftExists true if a draft row for this note is already stored
+     */
+    void start(boolean draftExists) {
+        if (started || stopped) {
+            return;
+        }
+        started = true;
+        draftSaved = draftExists;
+        titleEditText.addTextChangedListener(new FieldWatcher(true));
+        descriptionEditText.addTextChangedListener(new FieldWatcher(false));
+    }
+
+    /**
+     * Writes any unsaved changes now.
+     */
+    void flush() {
+        mainHandler.removeCallbacks(flushRunnable);
+        if (stopped || (!titleDirty && !descriptionDirty)) {
+            return;
+        }
+
+        long savedAt = System.currentTimeMillis();
+        // Same (UI) priority as saving the note, so a queued flush always
+        // runs before the save deletes the draft, never after it
+        if (!draftSaved) {
+            NoteDraft draft = new NoteDraft(noteId, titleEditText.getText().toString(),
+                    descriptionEditText.getText().toString(), savedAt);
+            tasks.write(() -> draftDao.upsertDraft(draft));
+            draftSaved = true;
+        } else if (titleDirty && descriptionDirty) {
+            String title = titleEditText.getText().toString();
+            String description = descriptionEditText.getText().toString();
+            tasks.write(() -> draftDao.updateDraft(noteId, title, description, savedAt));
+        } else if (titleDirty) {
+            String title = titleEditText.getText().toString();
+            tasks.write(() -> draftDao.updateTitle(noteId, title, savedAt));
+        } else {
+            String description = descriptionEditText.getText().toString();
+            tasks.write(() -> draftDao.updateDescription(noteId, description, savedAt));
+        }
+
+        titleDirty = false;
+        descriptionDirty = false;
+        firstDirtyAt = 0;
+    }
+
+    /**
+     * Stops autosaving and drops unsaved changes, e.g. because the note
+     * itself is being saved or deleted.
+     */
+    void stop() {
+        stopped = true;
+        mainHandler.removeCallbacks(flushRunnable);
+    }
+
+    /**
+     * Restarts autosaving after stop(), e.g. because saving the note failed,
+     * and writes the current text to the draft at once.
+     */
+    void resume() {
+        if (!started) {
+            return;
+        }
+        stopped = false;
+        titleDirty = true;
+        descriptionDirty = true;
+        flush();
+    }
+
+    /**
+     * Records an edit and schedules the debounced write.
+     *
+     * @param title true for the title field, false for the description
+     */
+    private void onFieldChanged(boolean title) {
+        if (stopped) {
+            return;
+        }
+        if (title) {
+            titleDirty = true;
+        } else {
+            descriptionDirty = true;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        if (firstDirtyAt == 0) {
+            firstDirtyAt = now;
+        }
+        long delay = Math.min(DEBOUNCE_MS, firstDirtyAt + MAX_DELAY_MS - now);
+        mainHandler.removeCallbacks(flushRunnable);
+        mainHandler.postDelayed(flushRunnable, Math.max(0, delay));
+    }
+
+    /**
+     * Forwards text changes of one field.
+     */
+    private class FieldWatcher implements TextWatcher {
+        private final boolean title;
+
+        FieldWatcher(boolean title) {
+            this.title = title;
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            onFieldChanged(title);
+        }
+    }
+}
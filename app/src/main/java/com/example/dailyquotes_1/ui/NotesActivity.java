@@ -2,38 +2,86 @@ package com.example.dailyquotes_1.ui;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.View;
+import android.widget.EditText;
 
+import androidx.activity.result.ActivityResult;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.room.InvalidationTracker;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.dailyquotes_1.R;
 import com.example.dailyquotes_1.database.AppDatabase;
+import com.example.dailyquotes_1.database.DatabaseExecutors;
 import com.example.dailyquotes_1.database.DatabaseProvider;
-import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.database.TaskScope;
+import com.example.dailyquotes_1.model.NoteSearchResult;
+import com.example.dailyquotes_1.model.NoteSummary;
+import com.example.dailyquotes_1.repository.NoteRepository;
 import com.example.dailyquotes_1.ui.adapter.NotesAdapter;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
+import com.google.android.material.snackbar.Snackbar;
 
 import java.util.List;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.Set;
 
 /**
  * NotesActivity displays a list of user notes with timestamps.
  * Features:
  * - RecyclerView with custom adapter for displaying notes
+ * - Keyset pagination: only a bounded window of notes is loaded at a time
+ * - Full-text search box with ranked, highlighted results
+ * - Reloads only when the notes table is written (Room invalidation tracking)
  * - FAB (Floating Action Button) to create new notes
  * - Click listeners to edit existing notes
+ * - Undo for a note deleted in AddNoteActivity
  * - Database operations using Room (executed on background thread)
  */
 public class NotesActivity extends AppCompatActivity {
 
     private RecyclerView notesRecyclerView;
     private NotesAdapter notesAdapter;
+    private NotesPager notesPager;
     private AppDatabase database;
-    private Executor executor;
+    private NoteRepository noteRepository;
+    private TaskScope tasks;
+
+    // Notes per page and pages kept in memory; the window covers several screens
+    private static final int PAGE_SIZE = 30;
+    private static final int MAX_PAGES = 5;
+    // Search runs once typing pauses for this long
+    private static final long SEARCH_DEBOUNCE_MS = 150;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::runSearch;
+    private String searchQuery = "";
+    // Incremented per search so results of older searches are discarded
+    private int searchGeneration;
+
+    // Reloads the list only when Room reports a write to the notes table
+    private final InvalidationTracker.Observer notesObserver = new InvalidationTracker.Observer("notes") {
+        @Override
+        public void onInvalidated(@NonNull Set<String> tables) {
+            mainHandler.post(() -> onNotesChanged());
+        }
+    };
+    // Opens AddNoteActivity; a delete made there comes back here for undo
+    private final ActivityResultLauncher<Intent> addNoteLauncher = registerForActivityResult(
+            new ActivityResultContracts.StartActivityForResult(), this::onAddNoteResult);
+
+    // Set when the table changed while this screen was not visible
+    private boolean notesChanged;
+    private boolean started;
 
     /**
      * Called when the activity is first created.
@@ -53,11 +101,12 @@ public class NotesActivity extends AppCompatActivity {
             getSupportActionBar().setDisplayHomeAsUpEnabled(true);
         }
 
-        // Initialize executor for background database operations
-        executor = Executors.newSingleThreadExecutor();
+        // Database work runs on the shared executors; pending reads are dropped on destroy
+        tasks = DatabaseExecutors.getInstance().scope(this);
 
         // Initialize database
         database = DatabaseProvider.getDatabase(this);
+        noteRepository = NoteRepository.getInstance(this);
 
         // Initialize UI components
         notesRecyclerView = findViewById(R.id.notes_recycler_view);
@@ -71,27 +120,83 @@ public class NotesActivity extends AppCompatActivity {
         notesAdapter = new NotesAdapter(note -> onNoteClicked(note));
         notesRecyclerView.setAdapter(notesAdapter);
 
+        // Page notes into the adapter as the list scrolls
+        notesPager = new NotesPager(noteRepository, tasks.reader(), layoutManager, notesAdapter,
+                PAGE_SIZE, MAX_PAGES);
+        notesRecyclerView.addOnScrollListener(notesPager);
+
         // Set up FAB click listener for creating new note
         fabAddNote.setOnClickListener(v -> navigateToAddNote(null));
 
-        // Load notes from database
-        loadNotes();
+        // Set up search box
+        EditText searchEditText = findViewById(R.id.edit_text_search);
+        searchEditText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchQuery = s.toString().trim();
+                mainHandler.removeCallbacks(searchRunnable);
+                mainHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
+            }
+        });
+
+        // Load the first page, then reload only when notes are written
+        database.getInvalidationTracker().addObserver(notesObserver);
+        notesPager.refresh();
     }
 
     /**
-     * Loads all notes from the database on a background thread.
-     * Updates the adapter on the main thread when data is retrieved.
+     * Called on the main thread when the notes table has been written.
+     * Reloads now if the screen is visible, otherwise when it next starts.
      */
-    private void loadNotes() {
-        executor.execute(() -> {
-            List<Note> notes = database.noteDao().getAllNotes();
+    private void onNotesChanged() {
+        if (!started) {
+            notesChanged = true;
+            return;
+        }
+        reload();
+    }
+
+    /**
+     * Re-runs the current query: search results when a search is active,
+     * otherwise the paged window, reloaded in place.
+     */
+    private void reload() {
+        notesChanged = false;
+        if (searchQuery.isEmpty()) {
+            notesPager.refresh();
+        } else {
+            runSearch();
+        }
+    }
+
+    /**
+     * Shows search results for the current query, or the paged list when
+     * the query is empty. Searching runs on the shared read threads.
+     */
+    private void runSearch() {
+        int generation = ++searchGeneration;
+        String query = searchQuery;
+
+        if (query.isEmpty()) {
+            notesPager.setPaused(false);
+            return;
+        }
+        notesPager.setPaused(true);
+
+        tasks.read(() -> {
+            List<NoteSearchResult> results = noteRepository.searchNotes(query, MAX_SEARCH_RESULTS);
 
-            // Switch back to main thread to update UI
             runOnUiThread(() -> {
-                if (notes != null && !notes.isEmpty()) {
-                    notesAdapter.setNotes(notes);
-                } else {
-                    notesAdapter.setNotes(List.of());
+                if (generation == searchGeneration) {
+                    notesAdapter.setSearchResults(results);
                 }
             });
         });
@@ -103,7 +208,7 @@ public class NotesActivity extends AppCompatActivity {
      *
      * @param note The note that was clicked
      */
-    private void onNoteClicked(Note note) {
+    private void onNoteClicked(NoteSummary note) {
         navigateToAddNote(note);
     }
 
@@ -113,22 +218,68 @@ public class NotesActivity extends AppCompatActivity {
      *
      * @param note The note to edit, or null to create a new note
      */
-    private void navigateToAddNote(Note note) {
+    private void navigateToAddNote(NoteSummary note) {
         Intent intent = new Intent(this, AddNoteActivity.class);
         if (note != null) {
-            intent.putExtra("note_id", note.getId());
+            intent.putExtra(AddNoteActivity.EXTRA_NOTE_ID, note.getId());
+        }
+        addNoteLauncher.launch(intent);
+    }
+
+    /**
+     * Called with the result of AddNoteActivity.
+     * Offers to undo a delete made there; the list itself reloads through
+     * the notes observer.
+     *
+     * @param result Result of AddNoteActivity
+     */
+    private void onAddNoteResult(ActivityResult result) {
+        Intent data = result.getData();
+        if (result.getResultCode() != RESULT_OK || data == null
+                || !data.hasExtra(AddNoteActivity.EXTRA_DELETED_NOTE_ID)) {
+            return;
+        }
+
+        long noteId = data.getLongExtra(AddNoteActivity.EXTRA_DELETED_NOTE_ID, 0);
+        Snackbar.make(notesRecyclerView, R.string.note_deleted, Snackbar.LENGTH_LONG)
+                .setAction(R.string.undo, v -> tasks.write(() -> noteRepository.restoreNote(noteId)))
+                .show();
+    }
+
+    /**
+     * Called when the activity becomes visible.
+     * Applies changes made while it was hidden (e.g. in AddNoteActivity);
+     * returning without any write does not query the database.
+     */
+    @Override
+    protected void onStart() {
+        super.onStart();
+        started = true;
+        if (notesChanged) {
+            reload();
         }
-        startActivity(intent);
     }
 
     /**
-     * Called when the activity is resumed.
-     * Reloads notes from the database to reflect any changes made in AddNoteActivity.
+     * Called when the activity is no longer visible.
+     * Saves the database executor metrics for diagnosis.
+     */
+    @Override
+    protected void onStop() {
+        started = false;
+        DatabaseExecutors.dumpMetrics(this);
+        super.onStop();
+    }
+
+    /**
+     * Called when the activity is destroyed.
+     * Stops observing the notes table.
      */
     @Override
-    protected void onResume() {
-        super.onResume();
-        loadNotes();
+    protected void onDestroy() {
+        database.getInvalidationTracker().removeObserver(notesObserver);
+        mainHandler.removeCallbacksAndMessages(null);
+        super.onDestroy();
     }
 
     /**
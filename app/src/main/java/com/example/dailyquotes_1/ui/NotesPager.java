@@ -0,0 +1,243 @@
+package com.example.dailyquotes_1.ui;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.dailyquotes_1.model.NoteSummary;
+import com.example.dailyquotes_1.repository.NoteRepository;
+import com.example.dailyquotes_1.ui.adapter.NotesAdapter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Keyset-paginated data source for the notes RecyclerView.
+ *
+ * Notes are read a page at a time in (created_at, id) descending order, seeking
+ * from the first or last note on screen instead of using OFFSET, so every page
+ * query costs the same no matter how deep the user has scrolled. The adapter
+ * holds a sliding window of at most maxPages pages: when a page is added at
+ * one end and the window is full, the page at the other end is dropped, and it
+ * is read again from its key if the user scrolls back. Memory and open time are
+ * therefore bounded by the window, not the size of the table.
+ *
+ * Pages are loaded one at a time on the given executor and applied on the main
+ * thread. All public methods must be called on the main thread.
+ */
+public class NotesPager extends RecyclerView.OnScrollListener {
+
+    private final NoteRepository noteRepository;
+    private final Executor executor;
+    private final LinearLayoutManager layoutManager;
+    private final NotesAdapter adapter;
+    private final int pageSize;
+    private final int maxPages;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Sizes of the pages currently in the adapter, first page first
+    private final ArrayDeque<Integer> pageSizes = new ArrayDeque<>();
+    private boolean startReached = true;
+    private boolean endReached;
+    private boolean loading;
+    // While paused (e.g. search results are shown) the adapter is left alone
+    private boolean paused;
+    // Incremented by refresh() so results of older loads are discarded
+    private int generation;
+
+    /**
+     * Constructor.
+     *
+     * @param noteRepository Repository used for the keyset page queries
+     * @param executor Background executor for database reads
+     * @param layoutManager LayoutManager of the notes RecyclerView
+     * @param adapter Adapter that displays the window
+     * @param pageSize Notes per page
+     * @param maxPages Maximum number of pages kept in the adapter
+     */
+    public NotesPager(NoteRepository noteRepository, Executor executor, LinearLayoutManager layoutManager,
+                      NotesAdapter adapter, int pageSize, int maxPages) {
+        this.noteRepository = noteRepository;
+        this.executor = executor;
+        this.layoutManager = layoutManager;
+        this.adapter = adapter;
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(2, maxPages);
+    }
+
+    /**
+     * Reloads the window in place, starting from the note currently at the top
+     * of the window, so edits show up without losing the scroll position.
+     * Loads the first page when nothing is displayed yet.
+     */
+    public void refresh() {
+        if (paused) {
+            return;
+        }
+        int requestGeneration = ++generation;
+        loading = true;
+
+        NoteSummary head = adapter.getNoteCount() > 0 ? adapter.getNote(0) : null;
+        int count = Math.max(pageSize, adapter.getNoteCount());
+
+        executor.execute(() -> {
+            List<NoteSummary> notes = head == null
+                    ? noteRepository.getFirstNotesPage(count)
+                    : noteRepository.getNotesFrom(head.getCreatedAt(), head.getId(), count);
+
+            mainHandler.post(() -> {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                adapter.setNotes(notes);
+
+                pageSizes.clear();
+                for (int remaining = notes.size(); remaining > 0; remaining -= pageSize) {
+                    pageSizes.addLast(Math.min(pageSize, remaining));
+                }
+                // Notes may have been added above the head; look once when near the top
+                startReached = head == null;
+                endReached = notes.size() < count;
+
+                if (notes.isEmpty() && head != null) {
+                    // Everything from the head down was deleted: start over from the top
+                    refresh();
+                    return;
+                }
+                loadMoreIfNeeded();
+            });
+        });
+    }
+
+    /**
+     * Stops or restarts paging. Pausing discards loads in progress so the
+     * adapter can show something else; resuming reloads from the first page.
+     *
+     * @param paused true to pause
+     */
+    public void setPaused(boolean paused) {
+        if (this.paused == paused) {
+            return;
+        }
+        this.paused = paused;
+        generation++;
+        loading = false;
+
+        if (!paused) {
+            pageSizes.clear();
+            adapter.setNotes(new ArrayList<>());
+            refresh();
+        }
+    }
+
+    /**
+     * Called when the RecyclerView has been scrolled.
+     *
+     * @param recyclerView The RecyclerView which scrolled
+     * @param dx Horizontal scroll amount
+     * @param dy Vertical scroll amount
+     */
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        loadMoreIfNeeded();
+    }
+
+    /**
+     * Starts loading a page at whichever end of the window the user is near.
+     */
+    private void loadMoreIfNeeded() {
+        int itemCount = adapter.getNoteCount();
+        if (paused || loading || itemCount == 0) {
+            return;
+        }
+
+        int threshold = pageSize / 2;
+        if (!endReached && layoutManager.findLastVisibleItemPosition() >= itemCount - 1 - threshold) {
+            loadAfter(adapter.getNote(itemCount - 1));
+        } else if (!startReached && layoutManager.findFirstVisibleItemPosition() <= threshold) {
+            loadBefore(adapter.getNote(0));
+        }
+    }
+
+    /**
+     * Loads the page of older notes after the last note in the window.
+     *
+     * @param tail The last note in the window
+     */
+    private void loadAfter(NoteSummary tail) {
+        int requestGeneration = generation;
+        loading = true;
+
+        executor.execute(() -> {
+            List<NoteSummary> notes = noteRepository.getNotesAfter(tail.getCreatedAt(), tail.getId(), pageSize);
+
+            mainHandler.post(() -> {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                endReached = notes.size() < pageSize;
+                if (!notes.isEmpty()) {
+                    adapter.appendNotes(notes);
+                    pageSizes.addLast(notes.size());
+                    if (pageSizes.size() > maxPages) {
+                        adapter.removeFromStart(pageSizes.removeFirst());
+                        startReached = false;
+                    }
+                }
+                loadMoreIfNeeded();
+            });
+        });
+    }
+
+    /**
+     * Loads the page of newer notes before the first note in the window.
+     *
+     * @param head The first note in the window
+     */
+    private void loadBefore(NoteSummary head) {
+        int requestGeneration = generation;
+        loading = true;
+
+        executor.execute(() -> {
+            List<NoteSummary> notes = noteRepository.getNotesBefore(head.getCreatedAt(), head.getId(), pageSize);
+            // The query walks away from the key, so flip it into list order
+            Collections.reverse(notes);
+
+            mainHandler.post(() -> {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                startReached = notes.size() < pageSize;
+                if (!notes.isEmpty()) {
+                    // Keep the rows on screen where they are; inserting above the
+                    // first visible row would otherwise pull the new rows into view
+                    int anchor = layoutManager.findFirstVisibleItemPosition();
+                    View anchorView = layoutManager.findViewByPosition(anchor);
+                    int anchorTop = anchorView != null ? anchorView.getTop() : 0;
+
+                    adapter.prependNotes(notes, () -> {
+                        if (anchor != RecyclerView.NO_POSITION) {
+                            layoutManager.scrollToPositionWithOffset(anchor + notes.size(), anchorTop);
+                        }
+                    });
+                    pageSizes.addFirst(notes.size());
+                    if (pageSizes.size() > maxPages) {
+                        adapter.removeFromEnd(pageSizes.removeLast());
+                        endReached = false;
+                    }
+                }
+                loadMoreIfNeeded();
+            });
+        });
+    }
+}
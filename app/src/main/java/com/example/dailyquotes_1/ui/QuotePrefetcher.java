@@ -0,0 +1,367 @@
+package com.example.dailyquotes_1.ui;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.repository.AdaptivePageSizer;
+import com.example.dailyquotes_1.repository.QuoteRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Look-ahead page prefetcher for the quotes RecyclerView.
+ *
+ * Keeps a window of pages ahead of the last visible item loading concurrently.
+ * The window grows with the measured scroll velocity (how many pages the user
+ * will cross during one request round-trip) and shrinks again when scrolling
+ * slows down, cancelling prefetches that fall out of it.
+ *
+ * Page sizes come from the repository's AdaptivePageSizer, so pages are
+ * tracked as item ranges (skip, limit) rather than page numbers. Ranges can
+ * complete in any order but are handed to the Listener strictly in order, so
+ * the adapter never has gaps. All methods must be called on the main thread.
+ */
+public class QuotePrefetcher extends RecyclerView.OnScrollListener {
+
+    /**
+     * Receives pages and loading state changes on the main thread.
+     */
+    public interface Listener {
+        /**
+         * Called with a page to show: either the next page in order, or a
+         * revalidated copy of a page that is already displayed.
+         *
+         * @param startPosition Adapter position of the first quote in the page
+         * @param quotes The quotes in the page
+         */
+        void onPageReady(int startPosition, List<Quote> quotes);
+
+        /**
+         * Called when the user starts or stops waiting on the next page.
+         *
+         * @param loading true if the next page to display is still loading
+         */
+        void onLoadingChanged(boolean loading);
+
+        /**
+         * Called when a page could not be loaded from either cache or network.
+         *
+         * @param message Failure reason, or null if the device is offline
+         */
+        void onPageError(String message);
+    }
+
+    private static final long RETRY_DELAY_MS = 3000;
+    private static final long DEFAULT_LATENCY_MS = 500;
+    private static final float SMOOTHING = 0.3f;
+
+    private final QuoteRepository repository;
+    private final AdaptivePageSizer pageSizer;
+    private final LinearLayoutManager layoutManager;
+    private final int minWindow;
+    private final int maxWindow;
+    private final Listener listener;
+
+    // Ranges with a load in progress, keyed by skip
+    private final TreeMap<Integer, QuoteRepository.PageRequest> inFlight = new TreeMap<>();
+    // Requested limit of every range not yet delivered, keyed by skip
+    private final Map<Integer, Integer> limits = new HashMap<>();
+    // Complete ranges that arrived ahead of an earlier, still-missing range
+    private final TreeMap<Integer, List<Quote>> pending = new TreeMap<>();
+    // Cached copies too short to fill their range; shown only if revalidation fails
+    private final Map<Integer, List<Quote>> partialCache = new HashMap<>();
+
+    private int nextSkipToDeliver = 0;
+    private int nextSkipToRequest = 0;
+    private int total = -1;
+    private long retryAfterMs = 0;
+    private boolean loading = false;
+
+    private int lastPosition = RecyclerView.NO_POSITION;
+    private long lastScrollTimeMs = 0;
+    private float velocityItemsPerSecond = 0f;
+    private float latencyEstimateMs = DEFAULT_LATENCY_MS;
+
+    /**
+     * Constructor.
+     *
+     * @param repository Source of quote pages and of the adaptive page size
+     * @param layoutManager Layout manager of the observed RecyclerView
+     * @param minWindow Pages to keep loaded ahead when idle or scrolling slowly
+     * @param maxWindow Upper bound on pages ahead, however fast the user flings
+     * @param listener Receives pages and loading state
+     */
+    public QuotePrefetcher(QuoteRepository repository, LinearLayoutManager layoutManager,
+                           int minWindow, int maxWindow, Listener listener) {
+        this.repository = repository;
+        this.pageSizer = repository.getPageSizer();
+        this.layoutManager = layoutManager;
+        this.minWindow = minWindow;
+        this.maxWindow = Math.max(minWindow, maxWindow);
+        this.listener = listener;
+    }
+
+    /**
+     * Starts loading the first page and the initial look-ahead window.
+     */
+    public void start() {
+        fillWindow();
+    }
+
+    /**
+     * Cancels every in-flight load. Call from the owning activity's onDestroy.
+     */
+    public void cancelAll() {
+        for (QuoteRepository.PageRequest request : inFlight.values()) {
+            request.cancel();
+        }
+        inFlight.clear();
+        pending.clear();
+        partialCache.clear();
+    }
+
+    /**
+     * Checks whether there are quotes left that have not been displayed yet.
+     *
+     * @return true if the end of the catalogue has not been reached
+     */
+    public boolean hasMorePages() {
+        return total < 0 || nextSkipToDeliver < total;
+    }
+
+    /**
+     * Gets the current look-ahead window size.
+     * Sized so the pages the user crosses during one round-trip are already requested.
+     *
+     * @return Number of pages to keep loaded ahead of the visible page
+     */
+    public int getWindowSize() {
+        float itemsPerRoundTrip = velocityItemsPerSecond * latencyEstimateMs / 1000f;
+        int extraPages = (int) Math.ceil(itemsPerRoundTrip / pageSizer.nextLimit());
+        return Math.min(maxWindow, minWindow + extraPages);
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        super.onScrolled(recyclerView, dx, dy);
+
+        int position = layoutManager.findLastVisibleItemPosition();
+        long now = SystemClock.uptimeMillis();
+
+        // Smoothed forward scroll velocity in items per second
+        if (lastPosition != RecyclerView.NO_POSITION && now > lastScrollTimeMs) {
+            float instant = Math.max(0, position - lastPosition) * 1000f / (now - lastScrollTimeMs);
+            velocityItemsPerSecond += SMOOTHING * (instant - velocityItemsPerSecond);
+        }
+        lastPosition = position;
+        lastScrollTimeMs = now;
+
+        fillWindow();
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        super.onScrollStateChanged(recyclerView, newState);
+
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            // Scrolling stopped: shrink the window back and drop far prefetches
+            velocityItemsPerSecond = 0f;
+            fillWindow();
+        }
+    }
+
+    /**
+     * Requests every missing range inside the window and cancels undelivered
+     * ranges that start beyond it.
+     */
+    private void fillWindow() {
+        int visiblePosition = Math.max(0, layoutManager.findLastVisibleItemPosition());
+        int windowEnd = visiblePosition + getWindowSize() * pageSizer.nextLimit();
+        if (total >= 0) {
+            windowEnd = Math.min(windowEnd, total);
+        }
+
+        // Cancel prefetches that fell out of the window; ranges after them go too,
+        // so the requested ranges stay contiguous
+        Integer firstOutside = inFlight.ceilingKey(Math.max(windowEnd, nextSkipToDeliver));
+        if (firstOutside != null && firstOutside > nextSkipToDeliver) {
+            truncateFrom(firstOutside);
+        }
+
+        // Request missing ranges, unless a recent failure asked us to back off
+        if (SystemClock.uptimeMillis() >= retryAfterMs) {
+            while (nextSkipToRequest < windowEnd || nextSkipToRequest == nextSkipToDeliver) {
+                if (total >= 0 && nextSkipToRequest >= total) {
+                    break;
+                }
+                int limit = pageSizer.nextLimit();
+                requestRange(nextSkipToRequest, limit);
+                nextSkipToRequest += limit;
+            }
+        }
+
+        updateLoading();
+    }
+
+    /**
+     * Cancels and forgets every undelivered range starting at or after skip.
+     *
+     * @param skip First position to drop
+     */
+    private void truncateFrom(int skip) {
+        for (QuoteRepository.PageRequest request : inFlight.tailMap(skip, true).values()) {
+            request.cancel();
+        }
+        inFlight.tailMap(skip, true).clear();
+        pending.tailMap(skip, true).clear();
+        nextSkipToRequest = Math.min(nextSkipToRequest, skip);
+    }
+
+    /**
+     * Starts loading a range through the repository.
+     *
+     * @param skip Absolute position of the first quote
+     * @param limit Number of quotes to request
+     */
+    private void requestRange(int skip, int limit) {
+        long startMs = SystemClock.uptimeMillis();
+        limits.put(skip, limit);
+
+        QuoteRepository.PageRequest request = repository.loadPage(limit, skip,
+                new QuoteRepository.PageCallback() {
+                    @Override
+                    public void onCachedPage(List<Quote> quotes, int cachedTotal) {
+                        updateTotal(cachedTotal);
+                        boolean complete = quotes.size() >= limit
+                                || (total >= 0 && skip + quotes.size() >= total);
+                        if (complete) {
+                            onRangeData(skip, quotes);
+                        } else {
+                            // Showing a short range now would misplace the ranges after it
+                            partialCache.put(skip, quotes);
+                        }
+                    }
+
+                    @Override
+                    public void onFreshPage(List<Quote> quotes, int freshTotal) {
+                        inFlight.remove(skip);
+                        partialCache.remove(skip);
+                        long elapsed = SystemClock.uptimeMillis() - startMs;
+                        latencyEstimateMs += SMOOTHING * (elapsed - latencyEstimateMs);
+
+                        updateTotal(freshTotal);
+                        if (quotes.size() < limit) {
+                            // Short page: the catalogue ends inside this range
+                            reachEnd(skip + quotes.size());
+                        }
+                        if (!quotes.isEmpty()) {
+                            onRangeData(skip, quotes);
+                        }
+                        fillWindow();
+                    }
+
+                    @Override
+                    public void onOffline(boolean servedFromCache) {
+                        onRangeFailed(skip, null, servedFromCache);
+                    }
+
+                    @Override
+                    public void onFailure(String message, boolean servedFromCache) {
+                        onRangeFailed(skip, message, servedFromCache);
+                    }
+                });
+
+        inFlight.put(skip, request);
+    }
+
+    /**
+     * Handles a range whose revalidation did not produce fresh data.
+     *
+     * @param skip Start of the range
+     * @param message Failure reason, or null if offline
+     * @param servedFromCache true if a cached copy (complete or partial) exists
+     */
+    private void onRangeFailed(int skip, String message, boolean servedFromCache) {
+        inFlight.remove(skip);
+
+        List<Quote> partial = partialCache.remove(skip);
+        if (partial != null) {
+            // Best we have offline: show it and treat it as the end of the list for now
+            reachEnd(skip + partial.size());
+            onRangeData(skip, partial);
+        } else if (!servedFromCache) {
+            // Back off so a failing range is not re-requested on every scroll event
+            truncateFrom(skip);
+            retryAfterMs = SystemClock.uptimeMillis() + RETRY_DELAY_MS;
+            listener.onPageError(message);
+        }
+        updateLoading();
+    }
+
+    /**
+     * Records that the catalogue ends at the given position.
+     *
+     * @param end Position just past the last quote
+     */
+    private void reachEnd(int end) {
+        if (total < 0 || end < total) {
+            total = end;
+        }
+        truncateFrom(Math.max(end, nextSkipToDeliver + 1));
+    }
+
+    /**
+     * Routes range data to the listener in order, buffering ranges that arrive early.
+     *
+     * @param skip Start of the range
+     * @param quotes The quotes in the range
+     */
+    private void onRangeData(int skip, List<Quote> quotes) {
+        if (skip < nextSkipToDeliver) {
+            // Already displayed: let the adapter swap in only the changed rows
+            listener.onPageReady(skip, quotes);
+            return;
+        }
+
+        pending.put(skip, quotes);
+        while (pending.containsKey(nextSkipToDeliver)) {
+            int skipToDeliver = nextSkipToDeliver;
+            List<Quote> range = pending.remove(skipToDeliver);
+            int limit = limits.containsKey(skipToDeliver) ? limits.remove(skipToDeliver) : range.size();
+            listener.onPageReady(skipToDeliver, range);
+            nextSkipToDeliver += Math.min(limit, range.size());
+        }
+        updateLoading();
+    }
+
+    /**
+     * Updates the catalogue size from a total reported by the cache or API.
+     *
+     * @param reportedTotal Total number of quotes, or 0 if unknown
+     */
+    private void updateTotal(int reportedTotal) {
+        if (reportedTotal > 0) {
+            total = reportedTotal;
+        }
+    }
+
+    /**
+     * Notifies the listener when waiting on the next range to display starts or stops.
+     */
+    private void updateLoading() {
+        boolean nowLoading = hasMorePages() && inFlight.containsKey(nextSkipToDeliver)
+                && !pending.containsKey(nextSkipToDeliver);
+        if (nowLoading != loading) {
+            loading = nowLoading;
+            listener.onLoadingChanged(loading);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.example.dailyquotes_1.ui;
 
-import android.net.ConnectivityManager;
-import android.net.Network;
-import android.net.NetworkCapabilities;
 import android.os.Bundle;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
 import android.view.View;
 import android.widget.ProgressBar;
 import android.widget.Toast;
@@ -14,32 +14,42 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.dailyquotes_1.R;
-import com.example.dailyquotes_1.model.QuoteResponse;
-import com.example.dailyquotes_1.network.RetrofitClient;
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.repository.QuoteRepository;
+import com.example.dailyquotes_1.repository.QuoteSnapshot;
 import com.example.dailyquotes_1.ui.adapter.QuotesAdapter;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import java.util.List;
 
 /**
  * QuotesActivity displays a paginated list of quotes from the Quotable API.
  * Features:
  * - RecyclerView with custom adapter for displaying quotes
- * - Pagination support with scroll listener for auto-loading
+ * - Pagination with a look-ahead prefetcher that scales with scroll velocity
+ * - Page size adapted to measured network latency and throughput
+ * - Offline-first loading: pages are shown from the Room cache, then revalidated
+ * - Cold start renders a memory-mapped snapshot of the last first page instantly
  * - Loading indicator (ProgressBar) during API calls
  * - Error handling with Toast messages
  */
 public class QuotesActivity extends AppCompatActivity {
 
+    private static final String TAG = "QuotesActivity";
+
     private RecyclerView quotesRecyclerView;
     private ProgressBar loadingProgressBar;
     private QuotesAdapter quotesAdapter;
-
-    private int currentPage = 0;
-    private static final int PAGE_SIZE = 10;
-    private boolean isLoading = false;
-    private boolean hasMoreQuotes = true;
+    private QuotePrefetcher quotePrefetcher;
+    // Start of this screen, for the time-to-first-quote log
+    private long createdAtMs;
+    private boolean firstQuoteLogged;
+
+    // Bounds for the adaptive page size; the first request of the process uses the minimum
+    private static final int MIN_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Pages kept loading ahead of the visible one; the window grows with fling speed
+    private static final int MIN_PREFETCH_PAGES = 2;
+    private static final int MAX_PREFETCH_PAGES = 8;
 
     /**
      * Called when the activity is first created.
@@ -50,6 +60,7 @@ public class QuotesActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        createdAtMs = SystemClock.elapsedRealtime();
         setContentView(R.layout.activity_quotes);
 
         // Set up the toolbar
@@ -71,112 +82,79 @@ public class QuotesActivity extends AppCompatActivity {
         quotesAdapter = new QuotesAdapter();
         quotesRecyclerView.setAdapter(quotesAdapter);
 
-        // Set up pagination scroll listener
-        setupScrollListener(layoutManager);
+        // Render the last seen first page before Room/Retrofit/Gson are touched
+        quotesAdapter.setSnapshot(QuoteSnapshot.open(QuoteSnapshot.getFile(this)));
 
-        // Load first page of quotes
-        loadQuotes();
+        // Set up pagination with look-ahead prefetching
+        setupPrefetcher(layoutManager);
+
+        // Load first page of quotes (and the pages ahead of it)
+        quotePrefetcher.start();
     }
 
     /**
-     * Sets up a scroll listener to auto-load the next page when user scrolls near the end.
-     * Triggers loading when the last 3 items are visible.
+     * Sets up the prefetcher that loads pages ahead of the scroll position.
+     * Pages come from the repository (Room cache first, then revalidated), sized
+     * by its adaptive pager from measured latency and throughput.
      *
      * @param layoutManager LinearLayoutManager for checking visible item positions
      */
-    private void setupScrollListener(LinearLayoutManager layoutManager) {
-        quotesRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
-                super.onScrolled(recyclerView, dx, dy);
-
-                // Check if we should load more quotes
-                int lastVisibleItemPosition = layoutManager.findLastVisibleItemPosition();
-                int totalItemCount = quotesAdapter.getItemCount();
-
-                // Load next page when within 3 items of the end
-                if (!isLoading && hasMoreQuotes &&
-                        lastVisibleItemPosition >= totalItemCount - 3) {
-                    currentPage++;
-                    loadQuotes();
-                }
-            }
-        });
+    private void setupPrefetcher(LinearLayoutManager layoutManager) {
+        QuoteRepository quoteRepository = QuoteRepository.getInstance(this);
+        quoteRepository.getPageSizer().setLimitBounds(MIN_PAGE_SIZE, MAX_PAGE_SIZE);
+
+        quotePrefetcher = new QuotePrefetcher(
+                quoteRepository,
+                layoutManager,
+                MIN_PREFETCH_PAGES,
+                MAX_PREFETCH_PAGES,
+                new QuotePrefetcher.Listener() {
+                    @Override
+                    public void onPageReady(int startPosition, List<Quote> quotes) {
+                        quotesAdapter.addQuotes(quotes);
+                        logTimeToFirstQuote();
+                    }
+
+                    @Override
+                    public void onLoadingChanged(boolean loading) {
+                        loadingProgressBar.setVisibility(loading ? View.VISIBLE : View.GONE);
+                    }
+
+                    @Override
+                    public void onPageError(String message) {
+                        if (message == null) {
+                            message = "Tidak ada koneksi internet. Periksa jaringan Anda.";
+                        }
+                        Toast.makeText(QuotesActivity.this, message, Toast.LENGTH_SHORT).show();
+                    }
+                });
+
+        quotesRecyclerView.addOnScrollListener(quotePrefetcher);
     }
 
     /**
-     * Loads quotes from the API for the current page.
-     * Uses Retrofit callback for asynchronous API call handling.
-     * Updates the adapter and shows/hides loading indicator.
+     * Logs how long the first page of quotes took, from this screen's creation
+     * and from process start. Only the first page is logged.
      */
-    private void loadQuotes() {
-        isLoading = true;
-        loadingProgressBar.setVisibility(View.VISIBLE);
-
-        // Calculate skip offset for pagination
-        int skip = currentPage * PAGE_SIZE;
-
-        // Abort early if offline to avoid pointless retries and page drift
-        if (!isOnline()) {
-            loadingProgressBar.setVisibility(View.GONE);
-            isLoading = false;
-            if (currentPage > 0) {
-                currentPage--; // rollback page increment from scroll trigger
-            }
-            Toast.makeText(this, "Tidak ada koneksi internet. Periksa jaringan Anda.", Toast.LENGTH_SHORT).show();
+    private void logTimeToFirstQuote() {
+        if (firstQuoteLogged) {
             return;
         }
+        firstQuoteLogged = true;
 
-        // Make API call using Retrofit callback
-        RetrofitClient.getQuotesApiService().getQuotes(PAGE_SIZE, skip)
-            .enqueue(new Callback<QuoteResponse>() {
-                    @Override
-                    public void onResponse(Call<QuoteResponse> call, Response<QuoteResponse> response) {
-                        loadingProgressBar.setVisibility(View.GONE);
-                        isLoading = false;
-
-                        if (response.isSuccessful() && response.body() != null) {
-                            QuoteResponse quoteResponse = response.body();
-
-                            // Check if there are more quotes to load
-                            if (quoteResponse.getQuotes() != null && !quoteResponse.getQuotes().isEmpty()) {
-                                if (currentPage == 0) {
-                                    // First page: set all quotes
-                                    quotesAdapter.setQuotes(quoteResponse.getQuotes());
-                                } else {
-                                    // Subsequent pages: add quotes to existing list
-                                    quotesAdapter.addQuotes(quoteResponse.getQuotes());
-                                }
-
-                                // Check if there are more quotes available
-                                int totalLoaded = (currentPage + 1) * PAGE_SIZE;
-                                if (totalLoaded >= quoteResponse.getTotal()) {
-                                    hasMoreQuotes = false;
-                                }
-                            } else {
-                                hasMoreQuotes = false;
-                            }
-
-                            Toast.makeText(QuotesActivity.this,
-                                    "Loaded " + quoteResponse.getQuotes().size() + " quotes",
-                                    Toast.LENGTH_SHORT).show();
-                        } else {
-                            Toast.makeText(QuotesActivity.this,
-                                    "Failed to load quotes: " + response.code(),
-                                    Toast.LENGTH_SHORT).show();
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(Call<QuoteResponse> call, Throwable t) {
-                        loadingProgressBar.setVisibility(View.GONE);
-                        isLoading = false;
+        long now = SystemClock.elapsedRealtime();
+        Log.i(TAG, "Time to first quote: " + (now - createdAtMs) + " ms after onCreate, "
+                + (now - Process.getStartElapsedRealtime()) + " ms after process start");
+    }
 
-                        Toast.makeText(QuotesActivity.this,
-                                "Error loading quotes: " + t.getMessage(),
-                                Toast.LENGTH_SHORT).show();
-                    }
-                });
+    /**
+     * Called when the activity is destroyed.
+     * Cancels outstanding page loads so no callbacks reach a dead activity.
+     */
+    @Override
+    protected void onDestroy() {
+        quotePrefetcher.cancelAll();
+        super.onDestroy();
     }
 
     /**
@@ -190,22 +168,4 @@ public class QuotesActivity extends AppCompatActivity {
         onBackPressed();
         return true;
     }
-
-    /**
-     * Checks network connectivity using ConnectivityManager.
-     *
-     * @return true if device has an active network with Internet capability
-     */
-    private boolean isOnline() {
-        ConnectivityManager cm = (ConnectivityManager) getSystemService(CONNECTIVITY_SERVICE);
-        if (cm == null) {
-            return false;
-        }
-        Network activeNetwork = cm.getActiveNetwork();
-        if (activeNetwork == null) {
-            return false;
-        }
-        NetworkCapabilities caps = cm.getNetworkCapabilities(activeNetwork);
-        return caps != null && caps.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
-    }
 }
@@ -1,19 +1,33 @@
 package com.example.dailyquotes_1.ui;
 
+import android.net.Uri;
 import android.os.Bundle;
 import android.widget.CompoundButton;
 import android.widget.Switch;
+import android.widget.TextView;
+import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.work.Constraints;
+import androidx.work.Data;
 import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
 import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkInfo;
 import androidx.work.WorkManager;
 
 import com.example.dailyquotes_1.R;
+import com.example.dailyquotes_1.worker.CatalogueSyncWorker;
 import com.example.dailyquotes_1.worker.DailyQuoteWorker;
+import com.example.dailyquotes_1.worker.NoteTransferWorker;
 import com.example.dailyquotes_1.util.PreferencesManager;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -22,11 +36,26 @@ import java.util.concurrent.TimeUnit;
  * - Toggle for daily quote notifications
  * - Integration with SharedPreferences for persistence
  * - WorkManager integration for scheduling background tasks
+ * - Full-catalogue download for offline browsing and notifications
+ * - Streaming JSON Lines export/import of all notes
  */
 public class SettingsActivity extends AppCompatActivity {
 
     private Switch notificationSwitch;
+    private TextView syncStatusTextView;
+    private TextView notesBackupStatusTextView;
+    private boolean noteTransferRunning;
     private static final String DAILY_QUOTE_WORK_TAG = "daily_quote_work";
+    private static final String CATALOGUE_SYNC_WORK_NAME = "catalogue_sync_work";
+    private static final String NOTES_TRANSFER_WORK_NAME = "notes_transfer_work";
+    private static final String NOTES_EXPORT_FILE_NAME = "notes.jsonl";
+    private static final String JSON_LINES_MIME_TYPE = "application/x-ndjson";
+
+    // System file pickers for choosing the export destination / import source
+    private final ActivityResultLauncher<String> exportNotesLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(JSON_LINES_MIME_TYPE), this::exportNotes);
+    private final ActivityResultLauncher<String[]> importNotesLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::importNotes);
 
     /**
      * Called when the activity is first created.
@@ -63,6 +92,145 @@ public class SettingsActivity extends AppCompatActivity {
                 onNotificationToggled(isChecked);
             }
         });
+
+        // Set up full-catalogue download
+        syncStatusTextView = findViewById(R.id.text_sync_status);
+        findViewById(R.id.button_sync_catalogue).setOnClickListener(v -> startCatalogueSync());
+        observeCatalogueSync();
+
+        // Set up notes export / import; runs in a one-time worker
+        notesBackupStatusTextView = findViewById(R.id.text_notes_backup_status);
+        findViewById(R.id.button_export_notes).setOnClickListener(
+                v -> exportNotesLauncher.launch(NOTES_EXPORT_FILE_NAME));
+        findViewById(R.id.button_import_notes).setOnClickListener(
+                v -> importNotesLauncher.launch(new String[]{JSON_LINES_MIME_TYPE, "application/json", "text/*"}));
+        observeNoteTransfer();
+    }
+
+    /**
+     * Streams every note to the chosen file.
+     *
+     * @param uri Destination picked by the user, or null if cancelled
+     */
+    private void exportNotes(Uri uri) {
+        if (uri != null) {
+            startNoteTransfer(uri, true);
+        }
+    }
+
+    /**
+     * Streams notes from the chosen file into the database.
+     *
+     * @param uri Source picked by the user, or null if cancelled
+     */
+    private void importNotes(Uri uri) {
+        if (uri != null) {
+            startNoteTransfer(uri, false);
+        }
+    }
+
+    /**
+     * Enqueues a notes export or import. It runs in NoteTransferWorker, off
+     * the database executors, which only get its per-batch queries and
+     * upserts; it also carries on if this screen is closed.
+     * KEEP policy: a transfer picked while another runs is not started.
+     *
+     * @param uri File picked by the user
+     * @param export true to export, false to import
+     */
+    private void startNoteTransfer(Uri uri, boolean export) {
+        if (noteTransferRunning) {
+            Toast.makeText(this, R.string.notes_transfer_busy, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        OneTimeWorkRequest transferWork = new OneTimeWorkRequest.Builder(NoteTransferWorker.class)
+                .setInputData(NoteTransferWorker.inputData(uri, export))
+                .build();
+
+        WorkManager.getInstance(this).enqueueUniqueWork(
+                NOTES_TRANSFER_WORK_NAME,
+                ExistingWorkPolicy.KEEP,
+                transferWork
+        );
+    }
+
+    /**
+     * Shows progress and the result of the last notes export or import.
+     */
+    private void observeNoteTransfer() {
+        WorkManager.getInstance(this)
+                .getWorkInfosForUniqueWorkLiveData(NOTES_TRANSFER_WORK_NAME)
+                .observe(this, (List<WorkInfo> workInfos) -> {
+                    if (workInfos == null || workInfos.isEmpty()) {
+                        return;
+                    }
+                    WorkInfo workInfo = workInfos.get(0);
+                    noteTransferRunning = !workInfo.getState().isFinished();
+
+                    if (noteTransferRunning) {
+                        notesBackupStatusTextView.setText(R.string.notes_transfer_in_progress);
+                    } else if (workInfo.getState() == WorkInfo.State.SUCCEEDED) {
+                        Data output = workInfo.getOutputData();
+                        int notes = output.getInt(NoteTransferWorker.KEY_NOTES, 0);
+                        double seconds = output.getLong(NoteTransferWorker.KEY_WALL_TIME_MS, 0) / 1000.0;
+                        notesBackupStatusTextView.setText(output.getBoolean(NoteTransferWorker.KEY_EXPORT, false)
+                                ? getString(R.string.notes_exported, notes, seconds)
+                                : getString(R.string.notes_imported, notes, seconds,
+                                        output.getInt(NoteTransferWorker.KEY_SKIPPED, 0)));
+                    } else if (workInfo.getState() == WorkInfo.State.FAILED) {
+                        notesBackupStatusTextView.setText(R.string.notes_transfer_failed);
+                    }
+                });
+    }
+
+    /**
+     * Enqueues the full-catalogue download.
+     * KEEP policy makes repeated taps join the running sync instead of restarting it.
+     */
+    private void startCatalogueSync() {
+        OneTimeWorkRequest syncWork = new OneTimeWorkRequest.Builder(CatalogueSyncWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .build();
+
+        WorkManager.getInstance(this).enqueueUniqueWork(
+                CATALOGUE_SYNC_WORK_NAME,
+                ExistingWorkPolicy.KEEP,
+                syncWork
+        );
+    }
+
+    /**
+     * Shows progress and the final timing of the catalogue download.
+     */
+    private void observeCatalogueSync() {
+        WorkManager.getInstance(this)
+                .getWorkInfosForUniqueWorkLiveData(CATALOGUE_SYNC_WORK_NAME)
+                .observe(this, (List<WorkInfo> workInfos) -> {
+                    if (workInfos == null || workInfos.isEmpty()) {
+                        return;
+                    }
+                    WorkInfo workInfo = workInfos.get(0);
+
+                    if (workInfo.getState() == WorkInfo.State.RUNNING) {
+                        Data progress = workInfo.getProgress();
+                        int pagesTotal = progress.getInt(CatalogueSyncWorker.KEY_PAGES_TOTAL, 0);
+                        if (pagesTotal > 0) {
+                            syncStatusTextView.setText(getString(R.string.sync_in_progress,
+                                    progress.getInt(CatalogueSyncWorker.KEY_PAGES_DONE, 0), pagesTotal));
+                        }
+                    } else if (workInfo.getState() == WorkInfo.State.SUCCEEDED) {
+                        Data output = workInfo.getOutputData();
+                        syncStatusTextView.setText(getString(R.string.sync_finished,
+                                output.getInt(CatalogueSyncWorker.KEY_QUOTES_WRITTEN, 0),
+                                output.getLong(CatalogueSyncWorker.KEY_WALL_TIME_MS, 0) / 1000.0,
+                                output.getDouble(CatalogueSyncWorker.KEY_PAGES_PER_SECOND, 0)));
+                    } else if (workInfo.getState() == WorkInfo.State.ENQUEUED
+                            && workInfo.getRunAttemptCount() > 0) {
+                        syncStatusTextView.setText(R.string.sync_failed);
+                    }
+                });
     }
 
     /**
@@ -1,26 +1,74 @@
 package com.example.dailyquotes_1.ui.adapter;
 
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
 import android.view.LayoutInflater;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.dailyquotes_1.R;
-import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.model.NoteSearchResult;
+import com.example.dailyquotes_1.model.NoteSummary;
+import com.example.dailyquotes_1.util.DateFormatter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView Adapter for displaying notes.
  * Uses the ViewHolder pattern for efficient view reuse.
  * Supports click listeners for editing notes.
+ * Holds only the window of notes NotesPager has loaded, which grows and
+ * shrinks at either end as the user scrolls.
+ *
+ * Every update is submitted to an AsyncListDiffer, which diffs the old and new
+ * lists on a background thread (items matched by note id, compared by content)
+ * and dispatches fine-grained notifications, so a refresh in which one note
+ * was edited re-binds just that row. Item ids are stable.
  */
 public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHolder> {
 
-    private List<Note> notes;
+    /**
+     * One row: a note, plus its search snippet while search results are shown.
+     */
+    static final class NoteItem {
+
+        final NoteSummary note;
+        // Raw snippet with highlight markers, or null outside search
+        final String snippet;
+
+        NoteItem(NoteSummary note, String snippet) {
+            this.note = note;
+            this.snippet = snippet;
+        }
+    }
+
+    /**
+     * Matches rows by note id and compares their displayed content.
+     */
+    static final DiffUtil.ItemCallback<NoteItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<NoteItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull NoteItem oldItem, @NonNull NoteItem newItem) {
+            return oldItem.note.getId() == newItem.note.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull NoteItem oldItem, @NonNull NoteItem newItem) {
+            return oldItem.note.equals(newItem.note) && Objects.equals(oldItem.snippet, newItem.snippet);
+        }
+    };
+
+    private final AsyncListDiffer<NoteItem> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    // Last list submitted; the displayed list catches up once its diff is applied
+    private List<NoteItem> latest = new ArrayList<>();
     private final OnNoteClickListener onNoteClickListener;
 
     /**
@@ -32,17 +80,17 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
          *
          * @param note The note that was clicked
          */
-        void onNoteClicked(Note note);
+        void onNoteClicked(NoteSummary note);
     }
 
     /**
-     * Constructor initializes the notes list and click listener.
+     * Constructor initializes the click listener and enables stable ids.
      *
      * @param onNoteClickListener Callback for handling note clicks
      */
     public NotesAdapter(OnNoteClickListener onNoteClickListener) {
-        this.notes = new ArrayList<>();
         this.onNoteClickListener = onNoteClickListener;
+        setHasStableIds(true);
     }
 
     /**
@@ -67,29 +115,167 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
      */
     @Override
     public void onBindViewHolder(@NonNull NoteViewHolder holder, int position) {
-        Note note = notes.get(position);
-        holder.bind(note);
+        NoteItem item = differ.getCurrentList().get(position);
+        holder.bind(item.note, item.snippet != null ? highlight(item.snippet) : null);
     }
 
     /**
      * Returns the total number of items in the data set.
      *
-     * @return The number of notes in the list
+     * @return The number of notes displayed
      */
     @Override
     public int getItemCount() {
-        return notes.size();
+        return differ.getCurrentList().size();
+    }
+
+    /**
+     * Returns the note id as the stable row id.
+     *
+     * @param position Adapter position
+     * @return Note id
+     */
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).note.getId();
+    }
+
+    /**
+     * Submits a new list to the differ.
+     *
+     * @param items The new rows
+     * @param onCommitted Run once the new list is displayed, or null
+     */
+    private void submit(List<NoteItem> items, Runnable onCommitted) {
+        latest = items;
+        differ.submitList(items, onCommitted);
+    }
+
+    /**
+     * Wraps notes as rows without snippets.
+     */
+    private static List<NoteItem> toItems(List<NoteSummary> notes) {
+        List<NoteItem> items = new ArrayList<>(notes.size());
+        for (NoteSummary note : notes) {
+            items.add(new NoteItem(note, null));
+        }
+        return items;
     }
 
     /**
-     * Sets the notes list and notifies the adapter of the change.
-     * Replaces all items in the adapter.
+     * Sets the notes list. The change is diffed in the background and only
+     * inserted, removed, moved or edited rows are updated.
      *
      * @param noteList The new list of notes to display
      */
-    public void setNotes(List<Note> noteList) {
-        this.notes = new ArrayList<>(noteList);
-        notifyDataSetChanged();
+    public void setNotes(List<NoteSummary> noteList) {
+        submit(toItems(noteList), null);
+    }
+
+    /**
+     * Shows full-text search results, with the matched terms highlighted in
+     * each note's snippet in place of its description.
+     *
+     * @param results Search results, best first
+     */
+    public void setSearchResults(List<NoteSearchResult> results) {
+        List<NoteItem> items = new ArrayList<>(results.size());
+        for (NoteSearchResult result : results) {
+            items.add(new NoteItem(result.getSummary(), result.getSnippet()));
+        }
+        submit(items, null);
+    }
+
+    /**
+     * Converts the highlight markers in a search snippet into bold spans.
+     *
+     * @param snippet Snippet from the search query
+     * @return Styled text without the markers
+     */
+    private static CharSequence highlight(String snippet) {
+        SpannableStringBuilder text = new SpannableStringBuilder();
+        int from = 0;
+        while (true) {
+            int start = snippet.indexOf(NoteSearchResult.HIGHLIGHT_START, from);
+            if (start < 0) {
+                break;
+            }
+            int end = snippet.indexOf(NoteSearchResult.HIGHLIGHT_END, start);
+            if (end < 0) {
+                break;
+            }
+            text.append(snippet, from, start);
+            int spanStart = text.length();
+            text.append(snippet, start + NoteSearchResult.HIGHLIGHT_START.length(), end);
+            text.setSpan(new StyleSpan(Typeface.BOLD), spanStart, text.length(),
+                    Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            from = end + NoteSearchResult.HIGHLIGHT_END.length();
+        }
+        text.append(snippet, from, snippet.length());
+        return text;
+    }
+
+    /**
+     * Gets the number of notes in the latest submitted list, which may be
+     * ahead of what is displayed while a diff is running.
+     *
+     * @return Number of notes
+     */
+    public int getNoteCount() {
+        return latest.size();
+    }
+
+    /**
+     * Gets a note from the latest submitted list.
+     *
+     * @param position Position in the list
+     * @return The note
+     */
+    public NoteSummary getNote(int position) {
+        return latest.get(position).note;
+    }
+
+    /**
+     * Adds a page of notes at the end of the list.
+     *
+     * @param page Notes to append, in list order
+     */
+    public void appendNotes(List<NoteSummary> page) {
+        List<NoteItem> items = new ArrayList<>(latest.size() + page.size());
+        items.addAll(latest);
+        items.addAll(toItems(page));
+        submit(items, null);
+    }
+
+    /**
+     * Adds a page of notes at the start of the list.
+     *
+     * @param page Notes to prepend, in list order
+     * @param onCommitted Run once the notes are displayed, or null
+     */
+    public void prependNotes(List<NoteSummary> page, Runnable onCommitted) {
+        List<NoteItem> items = new ArrayList<>(latest.size() + page.size());
+        items.addAll(toItems(page));
+        items.addAll(latest);
+        submit(items, onCommitted);
+    }
+
+    /**
+     * Drops notes from the start of the list.
+     *
+     * @param count Number of notes to remove
+     */
+    public void removeFromStart(int count) {
+        submit(new ArrayList<>(latest.subList(count, latest.size())), null);
+    }
+
+    /**
+     * Drops notes from the end of the list.
+     *
+     * @param count Number of notes to remove
+     */
+    public void removeFromEnd(int count) {
+        submit(new ArrayList<>(latest.subList(0, latest.size() - count)), null);
     }
 
     /**
@@ -101,7 +287,7 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         private final TextView noteDescriptionTextView;
         private final TextView noteDateTextView;
         private final OnNoteClickListener onNoteClickListener;
-        private Note currentNote;
+        private NoteSummary currentNote;
 
         /**
          * Constructor initializes the views for displaying note information.
@@ -130,18 +316,19 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         /**
          * Binds a note to this ViewHolder's views.
          *
-         * @param note The note data to display
+         * @param note Summary of the note to display
+         * @param snippet Highlighted search snippet shown instead of the description, or null
          */
-        public void bind(Note note) {
+        public void bind(NoteSummary note, CharSequence snippet) {
             this.currentNote = note;
 
             noteTitleTextView.setText(note.getTitle());
 
             // Truncate description to 3 lines
-            noteDescriptionTextView.setText(note.getDescription());
+            noteDescriptionTextView.setText(snippet != null ? snippet : note.getPreview());
             noteDescriptionTextView.setMaxLines(3);
 
-            noteDateTextView.setText(note.getCreatedAt());
+            noteDateTextView.setText(DateFormatter.format(note.getCreatedAt()));
         }
     }
 }
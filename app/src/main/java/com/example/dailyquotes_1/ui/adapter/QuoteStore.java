@@ -0,0 +1,124 @@
+package com.example.dailyquotes_1.ui.adapter;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.util.IntIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ordered, duplicate-free list of quotes keyed by their numeric id.
+ *
+ * An id -> position index (primitive IntIntHashMap) makes merging a page
+ * O(page size) with no boxing: a quote already in the store is updated in
+ * place, a new one is appended. Page drift on the server (the total changing
+ * between calls, or a page being refetched) therefore never produces
+ * duplicate rows. Positions never move once assigned, so a merge can report
+ * its own row updates (in-place changes and one insert at the tail) without
+ * diffing the whole list.
+ */
+public class QuoteStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final List<Quote> quotes = new ArrayList<>(INITIAL_CAPACITY);
+    private final IntIntHashMap positionsById = new IntIntHashMap(INITIAL_CAPACITY);
+
+    /**
+     * Merges a page into the store.
+     *
+     * @param page Quotes to merge, in display order
+     * @return true if any quote was added or changed
+     */
+    public boolean merge(List<Quote> page) {
+        return merge(page, null);
+    }
+
+    /**
+     * Merges a page into the store and reports the rows it touched.
+     *
+     * @param page Quotes to merge, in display order
+     * @param updates Receives onChanged for each quote updated in place, then
+     *                one onInserted for the quotes appended; may be null
+     * @return true if any quote was added or changed
+     */
+    public boolean merge(List<Quote> page, @Nullable ListUpdateCallback updates) {
+        int oldSize = quotes.size();
+        boolean changed = false;
+
+        for (int i = 0; i < page.size(); i++) {
+            Quote quote = page.get(i);
+            int position = positionsById.get(quote.getId());
+
+            if (position == IntIntHashMap.NO_VALUE) {
+                positionsById.put(quote.getId(), quotes.size());
+                quotes.add(quote);
+                changed = true;
+            } else if (!quote.equals(quotes.get(position))) {
+                quotes.set(position, quote);
+                changed = true;
+                if (updates != null && position < oldSize) {
+                    updates.onChanged(position, 1, null);
+                }
+            }
+        }
+        if (updates != null && quotes.size() > oldSize) {
+            updates.onInserted(oldSize, quotes.size() - oldSize);
+        }
+        return changed;
+    }
+
+    /**
+     * Copies the stored quotes, e.g. to submit to a list differ.
+     *
+     * @return New list of the quotes in display order
+     */
+    public List<Quote> toList() {
+        return new ArrayList<>(quotes);
+    }
+
+    /**
+     * Gets a read-only live view of the stored quotes; it follows later merges.
+     *
+     * @return Unmodifiable view in display order
+     */
+    public List<Quote> asList() {
+        return Collections.unmodifiableList(quotes);
+    }
+
+    /**
+     * Gets the quote at a position.
+     *
+     * @param position Row position
+     * @return The quote
+     */
+    public Quote get(int position) {
+        return quotes.get(position);
+    }
+
+    /**
+     * Checks whether a quote id is already stored.
+     *
+     * @param id Numeric quote id
+     * @return true if present
+     */
+    public boolean contains(int id) {
+        return positionsById.containsKey(id);
+    }
+
+    public int size() {
+        return quotes.size();
+    }
+
+    /**
+     * Removes all quotes.
+     */
+    public void clear() {
+        quotes.clear();
+        positionsById.clear();
+    }
+}
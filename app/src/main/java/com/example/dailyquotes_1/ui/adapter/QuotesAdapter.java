@@ -1,32 +1,75 @@
 package com.example.dailyquotes_1.ui.adapter;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.dailyquotes_1.R;
 import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.repository.QuoteSnapshot;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * RecyclerView Adapter for displaying quotes.
  * Uses the ViewHolder pattern for efficient view reuse.
  * Supports pagination with setQuotes() for initial load and addQuotes() for loading more.
+ * Backed by a QuoteStore, so the same quote id is never shown twice, with
+ * stable ids (the quote id).
+ *
+ * Replacing the rows (a cold-start snapshot by the first page, or
+ * setQuotes()) is diffed on a background thread, so unchanged rows are not
+ * re-bound. Once that is committed the adapter shows the store itself, and
+ * each appended page is notified from the store's own merge result: O(page)
+ * work instead of copying and diffing the whole list per page.
  */
 public class QuotesAdapter extends RecyclerView.Adapter<QuotesAdapter.QuoteViewHolder> {
 
-    private List<Quote> quotes;
+    /**
+     * Matches rows by quote id and compares their content.
+     */
+    static final DiffUtil.ItemCallback<Quote> DIFF_CALLBACK = new DiffUtil.ItemCallback<Quote>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Quote oldItem, @NonNull Quote newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Quote oldItem, @NonNull Quote newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    // Replacement diffs run on the differ pool that AsyncListDiffer (NotesAdapter) uses too
+    private static final Executor DIFF_EXECUTOR =
+            new AsyncDifferConfig.Builder<>(DIFF_CALLBACK).build().getBackgroundThreadExecutor();
+
+    private final QuoteStore quotes;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ListUpdateCallback updateCallback = new AdapterListUpdateCallback(this);
+    // Rows on screen: the store's live view once live, else a snapshot or a copy
+    private List<Quote> shown = Collections.emptyList();
+    private boolean live;
+    // Bumped by every replacement, so only the latest diff is committed
+    private int generation;
 
     /**
-     * Constructor initializes the quote list.
+     * Constructor initializes the quote store and enables stable ids.
      */
     public QuotesAdapter() {
-        this.quotes = new ArrayList<>();
+        this.quotes = new QuoteStore();
+        setHasStableIds(true);
     }
 
     /**
@@ -51,7 +94,7 @@ public class QuotesAdapter extends RecyclerView.Adapter<QuotesAdapter.QuoteViewH
      */
     @Override
     public void onBindViewHolder(@NonNull QuoteViewHolder holder, int position) {
-        Quote quote = quotes.get(position);
+        Quote quote = shown.get(position);
         holder.bind(quote);
     }
 
@@ -62,30 +105,120 @@ public class QuotesAdapter extends RecyclerView.Adapter<QuotesAdapter.QuoteViewH
      */
     @Override
     public int getItemCount() {
-        return quotes.size();
+        return shown.size();
     }
 
     /**
-     * Sets the quotes list and notifies the adapter of the change.
-     * Used for initial load of the first page.
+     * Returns the quote id as the stable row id.
+     *
+     * @param position Adapter position
+     * @return Quote id
+     */
+    @Override
+    public long getItemId(int position) {
+        return shown.get(position).getId();
+    }
+
+    /**
+     * Sets the quotes list. The change is diffed in the background, so
+     * quotes that are already shown unchanged are not re-bound.
      *
      * @param quoteList The new list of quotes to display
      */
     public void setQuotes(List<Quote> quoteList) {
-        this.quotes = new ArrayList<>(quoteList);
-        notifyDataSetChanged();
+        if (live) {
+            // Keep showing the current rows while the store is refilled and diffed
+            shown = quotes.toList();
+            live = false;
+        }
+        quotes.clear();
+        quotes.merge(quoteList);
+        replaceShown();
     }
 
     /**
-     * Adds quotes to the existing list and notifies the adapter.
-     * Used for pagination when loading more quotes.
+     * Adds quotes to the existing list.
+     * Used for pagination when loading more quotes. Quotes already shown
+     * (same id) are updated in place instead of being added twice.
      *
      * @param newQuotes The quotes to add to the list
      */
     public void addQuotes(List<Quote> newQuotes) {
-        int startPosition = quotes.size();
-        this.quotes.addAll(newQuotes);
-        notifyItemRangeInserted(startPosition, newQuotes.size());
+        if (live) {
+            // Rows only change in place or grow at the tail, as the store reports them
+            quotes.merge(newQuotes, updateCallback);
+        } else if (quotes.merge(newQuotes)) {
+            replaceShown();
+        }
+    }
+
+    /**
+     * Shows a cold-start snapshot until the first page is added.
+     * Ignored once real quotes are displayed. The first page is diffed
+     * against the snapshot, so rows that did not change are not re-bound.
+     *
+     * @param quoteSnapshot Snapshot of the last seen first page
+     */
+    public void setSnapshot(QuoteSnapshot quoteSnapshot) {
+        if (!shown.isEmpty() || quotes.size() > 0 || quoteSnapshot == null || quoteSnapshot.size() == 0) {
+            return;
+        }
+        // Lazy view: rows are decoded as they are bound (or diffed)
+        shown = quoteSnapshot.asList();
+        notifyItemRangeInserted(0, shown.size());
+    }
+
+    /**
+     * Diffs the rows on screen against the store on a background thread,
+     * then shows the store and dispatches the diff on the main thread.
+     * Until then the store only changes through calls that start a newer
+     * diff, so the committed result always matches the store.
+     */
+    private void replaceShown() {
+        int runGeneration = ++generation;
+        if (shown.isEmpty()) {
+            // Nothing to diff against: every row is an insert
+            shown = quotes.asList();
+            live = true;
+            notifyItemRangeInserted(0, shown.size());
+            return;
+        }
+
+        List<Quote> oldList = shown;
+        List<Quote> newList = quotes.toList();
+
+        DIFF_EXECUTOR.execute(() -> {
+            DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                @Override
+                public int getOldListSize() {
+                    return oldList.size();
+                }
+
+                @Override
+                public int getNewListSize() {
+                    return newList.size();
+                }
+
+                @Override
+                public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                    return DIFF_CALLBACK.areItemsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+                }
+
+                @Override
+                public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                    return DIFF_CALLBACK.areContentsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+                }
+            });
+
+            mainHandler.post(() -> {
+                if (runGeneration != generation) {
+                    return;
+                }
+                shown = quotes.asList();
+                live = true;
+                result.dispatchUpdatesTo(updateCallback);
+            });
+        });
     }
 
     /**
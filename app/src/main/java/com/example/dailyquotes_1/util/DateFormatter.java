@@ -0,0 +1,91 @@
+package com.example.dailyquotes_1.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Formats epoch-millis timestamps for display.
+ * SimpleDateFormat is expensive to create and not thread-safe, so each thread
+ * keeps one instance per locale and time zone and reuses it; a change of
+ * either is picked up on the next call.
+ */
+public class DateFormatter {
+
+    /** Display pattern for note timestamps (also the pre-v5 storage format). */
+    public static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    private static final ThreadLocal<LocalFormat> FORMAT = new ThreadLocal<>();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private DateFormatter() {
+    }
+
+    /**
+     * Gets this thread's formatter for the current default locale and time zone.
+     *
+     * @return Cached SimpleDateFormat
+     */
+    private static SimpleDateFormat getFormat() {
+        Locale locale = Locale.getDefault();
+        TimeZone timeZone = TimeZone.getDefault();
+        LocalFormat format = FORMAT.get();
+        if (format == null || !locale.equals(format.locale)
+                || !timeZone.getID().equals(format.timeZoneId)) {
+            format = new LocalFormat(locale, timeZone);
+            FORMAT.set(format);
+        }
+        return format.format;
+    }
+
+    /**
+     * Formats a timestamp in the default locale and time zone.
+     *
+     * @param epochMillis Milliseconds since the epoch
+     * @return Formatted date and time
+     */
+    public static String format(long epochMillis) {
+        return getFormat().format(new Date(epochMillis));
+    }
+
+    /**
+     * Parses a timestamp written with DATE_FORMAT in the default locale and
+     * time zone.
+     *
+     * @param text Formatted date and time
+     * @param fallback Value returned if the text cannot be parsed
+     * @return Milliseconds since the epoch, or fallback
+     */
+    public static long parse(String text, long fallback) {
+        if (text == null) {
+            return fallback;
+        }
+        try {
+            return getFormat().parse(text).getTime();
+        } catch (ParseException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * A formatter together with the locale and time zone it was built for;
+     * SimpleDateFormat does not expose its locale, and keeps the zone it was
+     * created with after the default changes.
+     */
+    private static final class LocalFormat {
+        final Locale locale;
+        final String timeZoneId;
+        final SimpleDateFormat format;
+
+        LocalFormat(Locale locale, TimeZone timeZone) {
+            this.locale = locale;
+            this.timeZoneId = timeZone.getID();
+            this.format = new SimpleDateFormat(DATE_FORMAT, locale);
+            this.format.setTimeZone(timeZone);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.dailyquotes_1.util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free fixed-bucket histogram.
+ * Values are counted into buckets by upper bound; the last bucket is open-ended.
+ * Percentiles are reported as the upper bound of the bucket that contains them.
+ */
+public class Histogram {
+
+    /** Bucket upper bounds for durations, in milliseconds. */
+    public static final long[] LATENCY_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    /** Bucket upper bounds for payload sizes, in bytes. */
+    public static final long[] SIZE_BOUNDS_BYTES = {256, 1024, 4096, 16384, 65536, 262144, 1048576};
+
+    private final String unit;
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param unit Unit label used in reports (e.g. "ms", "B")
+     * @param bounds Ascending bucket upper bounds
+     */
+    public Histogram(String unit, long[] bounds) {
+        this.unit = unit;
+        this.bounds = bounds;
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * Records one value.
+     *
+     * @param value The value, in this histogram's unit
+     */
+    public void record(long value) {
+        int bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long currentMax;
+        do {
+            currentMax = max.get();
+        } while (value > currentMax && !max.compareAndSet(currentMax, value));
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the arithmetic mean of all recorded values.
+     *
+     * @return Mean, or 0 if empty
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Estimates a percentile.
+     *
+     * @param percentile Percentile in [0, 100]
+     * @return Upper bound of the bucket containing it (the max for the open bucket), or 0 if empty
+     */
+    public long getPercentile(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return bounds[i];
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "n=%d mean=%.1f%s p50<=%d p90<=%d p99<=%d max=%d",
+                getCount(), getMean(), unit, getPercentile(50), getPercentile(90), getPercentile(99), getMax());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.dailyquotes_1.util;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-light open-addressing hash map from int keys to non-negative int values.
+ * Keys and values live in two parallel primitive arrays (no boxing, no entry
+ * objects); lookups use linear probing. Intended for membership / index
+ * lookups by numeric id. Does not support removal. Not thread-safe.
+ */
+public class IntIntHashMap {
+
+    /** Returned by get() for a missing key. */
+    public static final int NO_VALUE = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructor.
+     *
+     * @param expectedSize Number of entries to size the table for
+     */
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+        mask = capacity - 1;
+    }
+
+    private int slot(int key) {
+        // Fibonacci hashing spreads sequential ids across the table
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Gets the value for a key.
+     *
+     * @param key The key
+     * @return The value, or NO_VALUE if absent
+     */
+    public int get(int key) {
+        int i = slot(key);
+        while (values[i] != NO_VALUE) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Checks whether a key is present.
+     *
+     * @param key The key
+     * @return true if the key has a value
+     */
+    public boolean containsKey(int key) {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key The key
+     * @param value A non-negative value
+     */
+    public void put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values must be non-negative: " + value);
+        }
+        int i = slot(key);
+        while (values[i] != NO_VALUE) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != NO_VALUE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries, keeping the allocated table.
+     */
+    public void clear() {
+        Arrays.fill(values, NO_VALUE);
+        size = 0;
+    }
+}
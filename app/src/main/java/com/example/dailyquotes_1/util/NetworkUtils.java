@@ -0,0 +1,37 @@
+package com.example.dailyquotes_1.util;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+
+/**
+ * Utility class for checking network connectivity.
+ */
+public class NetworkUtils {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private NetworkUtils() {
+    }
+
+    /**
+     * Checks network connectivity using ConnectivityManager.
+     *
+     * @param context Any context; only used to look up the system service
+     * @return true if device has an active network with Internet capability
+     */
+    public static boolean isOnline(Context context) {
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null) {
+            return false;
+        }
+        Network activeNetwork = cm.getActiveNetwork();
+        if (activeNetwork == null) {
+            return false;
+        }
+        NetworkCapabilities caps = cm.getNetworkCapabilities(activeNetwork);
+        return caps != null && caps.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+    }
+}
@@ -3,6 +3,10 @@ package com.example.dailyquotes_1.util;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Utility class for managing SharedPreferences.
  * Provides methods to store and retrieve user settings,
@@ -13,6 +17,9 @@ public class PreferencesManager {
     private static final String PREFS_NAME = "DailyQuotesPreferences";
     private static final String NOTIFICATION_ENABLED_KEY = "notification_enabled";
     private static final String LAST_NOTIFICATION_TIME_KEY = "last_notification_time";
+    private static final String QUOTES_TOTAL_KEY = "quotes_total";
+    private static final String SYNC_TOTAL_KEY = "catalogue_sync_total";
+    private static final String SYNC_DONE_SKIPS_KEY = "catalogue_sync_done_skips";
 
     private static SharedPreferences sharedPreferences;
 
@@ -88,6 +95,84 @@ public class PreferencesManager {
         return sharedPreferences.getLong(LAST_NOTIFICATION_TIME_KEY, 0);
     }
 
+    /**
+     * Stores the last total quote count reported by the API.
+     * Lets the cached quotes list detect its end while offline.
+     *
+     * @param total The total number of quotes available
+     */
+    public static void setQuotesTotal(int total) {
+        ensureInitialized();
+        sharedPreferences.edit()
+                .putInt(QUOTES_TOTAL_KEY, total)
+                .apply();
+    }
+
+    /**
+     * Gets the last total quote count reported by the API.
+     *
+     * @return The cached total, or 0 if never fetched
+     */
+    public static int getQuotesTotal() {
+        ensureInitialized();
+        return sharedPreferences.getInt(QUOTES_TOTAL_KEY, 0);
+    }
+
+    /**
+     * Gets the catalogue total that the stored sync progress refers to.
+     *
+     * @return The total at the time the sync started, or 0 if none
+     */
+    public static int getSyncTotal() {
+        ensureInitialized();
+        return sharedPreferences.getInt(SYNC_TOTAL_KEY, 0);
+    }
+
+    /**
+     * Gets the skip offsets already written by the full-catalogue sync.
+     *
+     * @return Set of completed skip offsets
+     */
+    public static Set<Integer> getSyncedSkips() {
+        ensureInitialized();
+        Set<Integer> skips = new HashSet<>();
+        for (String skip : sharedPreferences.getStringSet(SYNC_DONE_SKIPS_KEY, new HashSet<>())) {
+            skips.add(Integer.parseInt(skip));
+        }
+        return skips;
+    }
+
+    /**
+     * Records skip offsets written by the full-catalogue sync, so an
+     * interrupted sync can resume where it left off.
+     *
+     * @param skips Newly completed skip offsets
+     */
+    public static void addSyncedSkips(Collection<Integer> skips) {
+        ensureInitialized();
+        // getStringSet() returns a shared instance that must not be modified
+        Set<String> done = new HashSet<>(sharedPreferences.getStringSet(SYNC_DONE_SKIPS_KEY, new HashSet<>()));
+        for (Integer skip : skips) {
+            done.add(String.valueOf(skip));
+        }
+        sharedPreferences.edit()
+                .putStringSet(SYNC_DONE_SKIPS_KEY, done)
+                .apply();
+    }
+
+    /**
+     * Discards sync progress and starts tracking a sync for the given total.
+     *
+     * @param total The catalogue total the new sync refers to
+     */
+    public static void resetSyncProgress(int total) {
+        ensureInitialized();
+        sharedPreferences.edit()
+                .putInt(SYNC_TOTAL_KEY, total)
+                .remove(SYNC_DONE_SKIPS_KEY)
+                .apply();
+    }
+
     /**
      * Clears all stored preferences.
      * Used for cleanup and testing purposes.
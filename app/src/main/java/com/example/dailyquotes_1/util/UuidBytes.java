@@ -0,0 +1,73 @@
+package com.example.dailyquotes_1.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Converts note UUIDs between their 16-byte stored form and the
+ * 36-character text form used outside the database (e.g. in exports).
+ */
+public class UuidBytes {
+
+    /** Length of a stored UUID. */
+    public static final int LENGTH = 16;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private UuidBytes() {
+    }
+
+    /**
+     * Creates a new random UUID.
+     *
+     * @return 16 bytes, most significant first
+     */
+    public static byte[] random() {
+        return toBytes(UUID.randomUUID());
+    }
+
+    /**
+     * Packs a UUID into 16 bytes.
+     *
+     * @param uuid The UUID
+     * @return 16 bytes, most significant first
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(LENGTH)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * Formats a stored UUID as text.
+     *
+     * @param bytes 16 bytes, most significant first
+     * @return The 36-character UUID string
+     */
+    public static String toString(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    /**
+     * Maps an external id to a stored UUID. UUID strings map to themselves;
+     * any other id (e.g. one written by another app) maps to a name-based
+     * UUID of its text, so the same id always gets the same UUID.
+     *
+     * @param id External id
+     * @return 16 bytes, most significant first
+     */
+    public static byte[] fromString(String id) {
+        if (id.length() == 36) {
+            try {
+                return toBytes(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                // Not a UUID after all; fall through to the name-based mapping
+            }
+        }
+        return toBytes(UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.dailyquotes_1.worker;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.dailyquotes_1.network.RetrofitClient;
+import com.example.dailyquotes_1.repository.CatalogueSync;
+
+import java.io.IOException;
+
+/**
+ * WorkManager Worker that downloads the whole quote catalogue into Room.
+ * Started on demand from SettingsActivity. Progress is published through
+ * WorkManager's progress API; an interrupted run is retried and resumes
+ * from the pages it already stored. Set KEY_STREAMING in the input data to
+ * download the catalogue as a single streamed response instead.
+ */
+public class CatalogueSyncWorker extends Worker {
+
+    public static final String KEY_STREAMING = "streaming";
+    public static final String KEY_PAGES_DONE = "pages_done";
+    public static final String KEY_PAGES_TOTAL = "pages_total";
+    public static final String KEY_QUOTES_WRITTEN = "quotes_written";
+    public static final String KEY_WALL_TIME_MS = "wall_time_ms";
+    public static final String KEY_PAGES_PER_SECOND = "pages_per_second";
+
+    private static final String TAG = "CatalogueSyncWorker";
+
+    /**
+     * Constructor required by WorkManager.
+     *
+     * @param context The application context
+     * @param params Parameters for the work
+     */
+    public CatalogueSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Runs the catalogue sync on WorkManager's background thread.
+     *
+     * @return Success with timing output, or retry on failure
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        CatalogueSync.ProgressListener progressListener = (pagesDone, pagesTotal) ->
+                setProgressAsync(new Data.Builder()
+                        .putInt(KEY_PAGES_DONE, pagesDone)
+                        .putInt(KEY_PAGES_TOTAL, pagesTotal)
+                        .build());
+
+        try {
+            CatalogueSync sync = new CatalogueSync(getApplicationContext());
+
+            // Streaming mode fetches everything in one request; paged mode is resumable
+            CatalogueSync.Result result = getInputData().getBoolean(KEY_STREAMING, false)
+                    ? sync.runStreaming(progressListener)
+                    : sync.run(progressListener);
+
+            Log.i(TAG, "Catalogue sync finished: " + result);
+            RetrofitClient.dumpNetworkMetrics();
+
+            return Result.success(new Data.Builder()
+                    .putInt(KEY_QUOTES_WRITTEN, result.getQuotesWritten())
+                    .putLong(KEY_WALL_TIME_MS, result.getWallTimeMs())
+                    .putDouble(KEY_PAGES_PER_SECOND, result.getPagesPerSecond())
+                    .build());
+        } catch (IOException e) {
+            e.printStackTrace();
+            // Network error; completed pages are kept, so the retry resumes
+            return Result.retry();
+        }
+    }
+}
@@ -8,19 +8,23 @@ import android.os.Build;
 
 import androidx.annotation.NonNull;
 import androidx.core.app.NotificationCompat;
-import androidx.work.ListenableWorker;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
 
 import com.example.dailyquotes_1.R;
+import com.example.dailyquotes_1.database.DatabaseExecutors;
+import com.example.dailyquotes_1.database.DatabaseProvider;
 import com.example.dailyquotes_1.model.Quote;
 import com.example.dailyquotes_1.network.RetrofitClient;
 import com.example.dailyquotes_1.ui.MainActivity;
+import com.example.dailyquotes_1.util.NetworkUtils;
 import com.example.dailyquotes_1.util.PreferencesManager;
 
 import retrofit2.Call;
 import retrofit2.Response;
 
+import java.util.concurrent.ExecutionException;
+
 /**
  * WorkManager Worker for fetching daily quotes and displaying notifications.
  * This worker runs periodically (as configured in SettingsActivity)
@@ -48,6 +52,8 @@ public class DailyQuoteWorker extends Worker {
     /**
      * The work method called by WorkManager.
      * Fetches a random quote and displays a notification.
+     * Falls back to a random quote from the local catalogue when offline
+     * or when the API call fails.
      * Returns success if notification is shown, or retry on failure.
      *
      * @return Result indicating success or retry
@@ -55,27 +61,73 @@ public class DailyQuoteWorker extends Worker {
     @NonNull
     @Override
     public Result doWork() {
+        Context context = getApplicationContext();
+        PreferencesManager.init(context);
+
+        Quote quote = null;
+        if (NetworkUtils.isOnline(context)) {
+            quote = fetchRandomQuote(context);
+        }
+        if (quote == null) {
+            // Offline or API failure: use the synced/cached catalogue instead
+            quote = loadRandomCachedQuote(context);
+        }
+
+        if (quote == null) {
+            // Nothing available from either source, retry
+            return Result.retry();
+        }
+
+        displayNotification(quote);
+
+        // Update last notification time
+        PreferencesManager.setLastNotificationTime(System.currentTimeMillis());
+
+        return Result.success();
+    }
+
+    /**
+     * Picks a random quote from the local catalogue on the shared database
+     * read threads.
+     *
+     * @param context Application context
+     * @return The quote, or null if the catalogue is empty or the read failed
+     */
+    private Quote loadRandomCachedQuote(Context context) {
+        try {
+            return DatabaseExecutors.getInstance().read(
+                    () -> DatabaseProvider.getDatabase(context).quoteDao().getRandomQuote());
+        } catch (ExecutionException | InterruptedException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Fetches a random quote from the API.
+     *
+     * @param context Application context
+     * @return The quote, or null if the call failed
+     */
+    private Quote fetchRandomQuote(Context context) {
         try {
+            // Enable the HTTP cache so the last quote can be served while offline
+            RetrofitClient.init(context);
+
             // Fetch a random quote (using blocking call since we're on background thread)
             Call<Quote> call = RetrofitClient.getQuotesApiService().getRandomQuote();
             Response<Quote> response = call.execute(); // Blocking call is OK here
 
             if (response.isSuccessful() && response.body() != null) {
-                Quote quote = response.body();
-                displayNotification(quote);
-
-                // Update last notification time
-                PreferencesManager.setLastNotificationTime(System.currentTimeMillis());
-
-                return Result.success();
-            } else {
-                // API returned error status, retry
-                return Result.retry();
+                return response.body();
             }
+            RetrofitClient.dumpNetworkMetrics();
+            return null;
         } catch (Exception e) {
             e.printStackTrace();
-            // Network error or other exception, retry
-            return Result.retry();
+            // Network error or other exception; keep the timings for diagnosis
+            RetrofitClient.dumpNetworkMetrics();
+            return null;
         }
     }
 
@@ -0,0 +1,126 @@
+package com.example.dailyquotes_1.worker;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.dailyquotes_1.database.DatabaseCompaction;
+import com.example.dailyquotes_1.database.DatabaseExecutors;
+import com.example.dailyquotes_1.database.DatabaseProvider;
+import com.example.dailyquotes_1.repository.NoteRepository;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WorkManager Worker for periodic housekeeping of the notes database:
+ * - purges notes deleted a while ago (see NoteTombstones)
+ * - moves long bodies, and bodies of notes not edited for a while, to cold
+ *   storage (see NoteColdStorage)
+ * - returns free pages to the file system with incremental vacuum and
+ *   refreshes planner statistics with PRAGMA optimize
+ * Runs once a day while the device is idle and charging; scheduled from
+ * DailyQuotesApplication. Every batch is a separate task on the database
+ * write thread at background priority, so edits made meanwhile wait for at
+ * most one batch.
+ */
+public class NoteMaintenanceWorker extends Worker {
+
+    public static final String WORK_NAME = "note_maintenance";
+
+    private static final String TAG = "NoteMaintenanceWorker";
+    // Free pages released per write task; 4 KB pages, so up to 2 MB at a time
+    private static final int VACUUM_BATCH_PAGES = 512;
+
+    /**
+     * Constructor required by WorkManager.
+     *
+     * @param context The application context
+     * @param params Parameters for the work
+     */
+    public NoteMaintenanceWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Enqueues the daily run, or updates the constraints of the one already
+     * scheduled.
+     *
+     * @param context Any context
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest maintenanceWork =
+                new PeriodicWorkRequest.Builder(NoteMaintenanceWorker.class, 1, TimeUnit.DAYS)
+                        .setConstraints(new Constraints.Builder()
+                                .setRequiresDeviceIdle(true)
+                                .setRequiresCharging(true)
+                                .build())
+                        .build();
+
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                WORK_NAME,
+                ExistingPeriodicWorkPolicy.UPDATE,
+                maintenanceWork
+        );
+    }
+
+    /**
+     * The work method called by WorkManager.
+     * Runs each step batch by batch until it is done or the work is stopped
+     * (e.g. the device is no longer idle); the next run carries on.
+     *
+     * @return Result indicating success or retry
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        NoteRepository repository = NoteRepository.getInstance(context);
+        DatabaseCompaction compaction = new DatabaseCompaction(DatabaseProvider.getDatabase(context));
+        DatabaseExecutors executors = DatabaseExecutors.getInstance();
+        long now = System.currentTimeMillis();
+
+        try {
+            long purged = 0;
+            long batch;
+            do {
+                batch = executors.write(() -> repository.purgeDeletedNotes(now));
+                purged += batch;
+            } while (batch > 0 && !isStopped());
+
+            long moved = 0;
+            do {
+                batch = executors.write(() -> repository.moveColdBodies(now));
+                moved += batch;
+            } while (batch > 0 && !isStopped());
+
+            if (isStopped()) {
+                return Result.success();
+            }
+            boolean vacuumed = executors.write(compaction::enableIncrementalVacuum);
+            long freedPages = 0;
+            do {
+                batch = executors.write(() -> compaction.incrementalVacuum(VACUUM_BATCH_PAGES));
+                freedPages += batch;
+            } while (batch > 0 && !isStopped());
+            executors.write(() -> {
+                compaction.optimize();
+                return null;
+            });
+
+            Log.i(TAG, "Purged " + purged + " deleted notes, moved " + moved + " bodies to cold storage, "
+                    + (vacuumed ? "ran a full VACUUM, " : "") + "released " + freedPages + " pages");
+            return Result.success();
+        } catch (ExecutionException | InterruptedException e) {
+            e.printStackTrace();
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.dailyquotes_1.worker;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.dailyquotes_1.repository.NoteRepository;
+import com.example.dailyquotes_1.repository.NoteTransfer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * WorkManager Worker that exports all notes to, or imports notes from, a
+ * JSON Lines file picked in SettingsActivity (see NoteTransfer).
+ * The file and the JSON are handled on WorkManager's thread; only the
+ * per-batch queries and upserts go to the database executors, so a long
+ * transfer never holds one of their threads. A failed transfer is not
+ * retried: the file is what failed, and retrying would not fix it.
+ */
+public class NoteTransferWorker extends Worker {
+
+    public static final String KEY_URI = "uri";
+    public static final String KEY_EXPORT = "export";
+    public static final String KEY_NOTES = "notes";
+    public static final String KEY_SKIPPED = "skipped";
+    public static final String KEY_WALL_TIME_MS = "wall_time_ms";
+
+    private static final String TAG = "NoteTransferWorker";
+
+    /**
+     * Constructor required by WorkManager.
+     *
+     * @param context The application context
+     * @param params Parameters for the work
+     */
+    public NoteTransferWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Builds the input data for a transfer.
+     *
+     * @param uri File picked by the user
+     * @param export true to export all notes to the file, false to import from it
+     * @return Input data for the work request
+     */
+    public static Data inputData(Uri uri, boolean export) {
+        return new Data.Builder()
+                .putString(KEY_URI, uri.toString())
+                .putBoolean(KEY_EXPORT, export)
+                .build();
+    }
+
+    /**
+     * Runs the export or import on WorkManager's background thread.
+     *
+     * @return Success with the note count and timing, or failure
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        String uriString = getInputData().getString(KEY_URI);
+        if (uriString == null) {
+            return Result.failure();
+        }
+        Uri uri = Uri.parse(uriString);
+        boolean export = getInputData().getBoolean(KEY_EXPORT, false);
+        NoteTransfer transfer = new NoteTransfer(NoteRepository.getInstance(context),
+                NoteTransfer.DEFAULT_BATCH_SIZE);
+        long start = SystemClock.elapsedRealtime();
+
+        try {
+            int notes;
+            int skipped = 0;
+            if (export) {
+                try (OutputStream out = context.getContentResolver().openOutputStream(uri)) {
+                    if (out == null) {
+                        throw new IOException("Cannot open " + uri);
+                    }
+                    notes = transfer.exportNotes(out);
+                }
+            } else {
+                try (InputStream in = context.getContentResolver().openInputStream(uri)) {
+                    if (in == null) {
+                        throw new IOException("Cannot open " + uri);
+                    }
+                    NoteTransfer.ImportResult result = transfer.importNotes(in);
+                    notes = result.imported;
+                    skipped = result.skipped;
+                }
+            }
+
+            long wallTimeMs = SystemClock.elapsedRealtime() - start;
+            Log.i(TAG, (export ? "Exported " : "Imported ") + notes + " notes in " + wallTimeMs + " ms");
+            return Result.success(new Data.Builder()
+                    .putBoolean(KEY_EXPORT, export)
+                    .putInt(KEY_NOTES, notes)
+                    .putInt(KEY_SKIPPED, skipped)
+                    .putLong(KEY_WALL_TIME_MS, wallTimeMs)
+                    .build());
+        } catch (IOException | SecurityException e) {
+            e.printStackTrace();
+            return Result.failure();
+        }
+    }
+}
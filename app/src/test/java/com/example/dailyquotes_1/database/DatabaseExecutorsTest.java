@@ -0,0 +1,98 @@
+package com.example.dailyquotes_1.database;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks queue ordering, scope cancellation and metrics of the shared
+ * database executors.
+ */
+public class DatabaseExecutorsTest {
+
+    @Test
+    public void uiPriorityRunsFirstThenSubmissionOrder() throws InterruptedException {
+        PriorityLane lane = new PriorityLane("test", 1, Thread::new);
+        CountDownLatch gate = block(lane);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        lane.execute(DatabaseExecutors.Priority.BACKGROUND, () -> order.add("bg1"), null);
+        lane.execute(DatabaseExecutors.Priority.UI, () -> order.add("ui1"), null);
+        lane.execute(DatabaseExecutors.Priority.BACKGROUND, () -> order.add("bg2"), null);
+        lane.execute(DatabaseExecutors.Priority.UI, () -> order.add("ui2"), null);
+        assertEquals(4, lane.getQueueDepth());
+
+        gate.countDown();
+        drain(lane);
+
+        assertEquals(Arrays.asList("ui1", "ui2", "bg1", "bg2"), order);
+        assertEquals(4, lane.getMaxQueueDepth());
+        assertEquals(3, lane.getWaitTimes(DatabaseExecutors.Priority.BACKGROUND).getCount());
+        assertEquals(3, lane.getWaitTimes(DatabaseExecutors.Priority.UI).getCount());
+    }
+
+    @Test
+    public void cancelledScopeDropsPendingReadsButNotWrites() throws InterruptedException {
+        DatabaseExecutors executors = new DatabaseExecutors(1, Thread::new);
+        CountDownLatch readGate = block(executors.getReadLane());
+        CountDownLatch writeGate = block(executors.getWriteLane());
+        List<String> ran = Collections.synchronizedList(new ArrayList<>());
+
+        TaskScope scope = new TaskScope(executors);
+        scope.read(() -> ran.add("read"));
+        scope.write(() -> ran.add("write"));
+        scope.cancel();
+        scope.read(() -> ran.add("late read"));
+
+        readGate.countDown();
+        writeGate.countDown();
+        drain(executors.getReadLane());
+        drain(executors.getWriteLane());
+
+        assertEquals(Collections.singletonList("write"), ran);
+        assertEquals(2, executors.getReadLane().getCancelledCount());
+        assertTrue(scope.isCancelled());
+    }
+
+    @Test
+    public void blockingReadReturnsResult() throws Exception {
+        DatabaseExecutors executors = new DatabaseExecutors(2, Thread::new);
+
+        assertEquals("quote", executors.read(() -> "quote"));
+    }
+
+    /**
+     * Occupies the lane's only thread until the returned latch is released.
+     */
+    private static CountDownLatch block(PriorityLane lane) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        lane.execute(DatabaseExecutors.Priority.UI, () -> {
+            started.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return gate;
+    }
+
+    /**
+     * Waits until every task queued so far on a single-thread lane has run.
+     */
+    private static void drain(PriorityLane lane) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        lane.execute(DatabaseExecutors.Priority.BACKGROUND, done::countDown, null);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.dailyquotes_1.database;
+
+import com.example.dailyquotes_1.model.NoteSummary;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks body compression, the preview kept inline and the size threshold
+ * of note cold storage.
+ */
+public class NoteColdStorageTest {
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void compressedBodyRoundTrips() {
+        String body = repeat("Caf\u00e9 \ud83d\ude00 line of a long note\n", 500);
+
+        byte[] compressed = NoteColdStorage.compress(body);
+
+        assertTrue(compressed.length < body.length() / 10);
+        assertEquals(body, NoteColdStorage.decompress(compressed));
+        assertEquals("", NoteColdStorage.decompress(NoteColdStorage.compress("")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void truncatedBodyIsRejected() {
+        byte[] compressed = NoteColdStorage.compress(repeat("abc", 1000));
+
+        NoteColdStorage.decompress(Arrays.copyOf(compressed, compressed.length / 2));
+    }
+
+    @Test
+    public void previewMatchesTheListPreview() {
+        // Emoji take two chars; the cut counts code points like SQLite substr
+        String body = repeat("\ud83d\ude00", NoteSummary.PREVIEW_LENGTH + 10);
+
+        String preview = NoteColdStorage.preview(body);
+
+        assertEquals(NoteSummary.PREVIEW_LENGTH, preview.codePointCount(0, preview.length()));
+        assertEquals(2 * NoteSummary.PREVIEW_LENGTH, preview.length());
+        assertFalse(new NoteSummary(1, new byte[16], "T", preview, 1L, 1L).hasFullDescription());
+    }
+
+    @Test
+    public void shortBodyIsItsOwnPreview() {
+        String body = repeat("x", NoteSummary.PREVIEW_LENGTH);
+
+        assertSame(body, NoteColdStorage.preview(body));
+    }
+
+    @Test
+    public void onlyLongBodiesAreLarge() {
+        assertFalse(NoteColdStorage.isLarge(null));
+        assertFalse(NoteColdStorage.isLarge(repeat("x", NoteColdStorage.LARGE_BODY_LENGTH)));
+        assertTrue(NoteColdStorage.isLarge(repeat("x", NoteColdStorage.LARGE_BODY_LENGTH + 1)));
+    }
+}
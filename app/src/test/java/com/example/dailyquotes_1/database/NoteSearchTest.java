@@ -0,0 +1,82 @@
+package com.example.dailyquotes_1.database;
+
+import com.example.dailyquotes_1.model.NoteFtsMatch;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks MATCH expression building and BM25 ranking from matchinfo blobs.
+ */
+public class NoteSearchTest {
+
+    /**
+     * Builds a 'pcnalx' matchinfo for one phrase over (title, description).
+     */
+    private static int[] matchInfo(int rows, int titleHits, int descriptionHits,
+                                   int titleLength, int descriptionLength, int rowsWithHit) {
+        return new int[]{
+                1, 2, rows,
+                5, 50,                              // average lengths
+                titleLength, descriptionLength,     // this row's lengths
+                titleHits, titleHits, rowsWithHit,
+                descriptionHits, descriptionHits, rowsWithHit
+        };
+    }
+
+    private static NoteFtsMatch match(long rowId, int[] info) {
+        ByteBuffer buffer = ByteBuffer.allocate(info.length * 4).order(ByteOrder.nativeOrder());
+        for (int value : info) {
+            buffer.putInt(value);
+        }
+        NoteFtsMatch match = new NoteFtsMatch();
+        match.setRowId(rowId);
+        match.setMatchInfo(buffer.array());
+        return match;
+    }
+
+    @Test
+    public void matchQueryPrefixesEveryWordAndDropsOperators() {
+        assertEquals("\"gro*\" \"list*\"", NoteSearch.toMatchQuery("  Gro  list"));
+        assertEquals("\"and*\" \"near*\"", NoteSearch.toMatchQuery("AND \"near\"*"));
+        assertEquals("\"caf\u00e9*\"", NoteSearch.toMatchQuery("caf\u00e9-"));
+        assertNull(NoteSearch.toMatchQuery(" *- \""));
+        assertNull(NoteSearch.toMatchQuery(null));
+    }
+
+    @Test
+    public void titleHitOutranksDescriptionHit() {
+        double title = NoteSearch.score(matchInfo(1000, 1, 0, 5, 50, 10));
+        double description = NoteSearch.score(matchInfo(1000, 0, 1, 5, 50, 10));
+        assertTrue(title > description);
+    }
+
+    @Test
+    public void rarerTermsAndShorterNotesScoreHigher() {
+        assertTrue(NoteSearch.score(matchInfo(1000, 0, 1, 5, 50, 5))
+                > NoteSearch.score(matchInfo(1000, 0, 1, 5, 50, 500)));
+        assertTrue(NoteSearch.score(matchInfo(1000, 0, 1, 5, 20, 10))
+                > NoteSearch.score(matchInfo(1000, 0, 1, 5, 200, 10)));
+    }
+
+    @Test
+    public void rankReturnsBestRowIdsFirst() {
+        List<NoteFtsMatch> matches = new ArrayList<>();
+        matches.add(match(1, matchInfo(100, 0, 1, 5, 50, 10)));
+        matches.add(match(2, matchInfo(100, 2, 3, 5, 50, 10)));
+        matches.add(match(3, matchInfo(100, 1, 0, 5, 50, 10)));
+
+        List<Long> rowIds = NoteSearch.rank(matches, 2);
+        assertEquals(2, rowIds.size());
+        assertEquals(2L, (long) rowIds.get(0));
+        assertEquals(3L, (long) rowIds.get(1));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.dailyquotes_1.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pre-connects to a local HTTPS mock server and checks that the first real
+ * call reuses the warmed connection instead of making its own handshake.
+ */
+public class ConnectionWarmerTest {
+
+    private static final String QUOTES_BODY =
+            "{\"quotes\":[{\"id\":1,\"quote\":\"Hello\",\"author\":\"A\"}],\"total\":1,\"skip\":0,\"limit\":1}";
+
+    private MockWebServer server;
+    private HandshakeCertificates clientCertificates;
+
+    @Before
+    public void setUp() throws IOException {
+        String localhost = InetAddress.getByName("localhost").getCanonicalHostName();
+        HeldCertificate certificate = new HeldCertificate.Builder()
+                .addSubjectAlternativeName(localhost)
+                .build();
+        HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(certificate)
+                .build();
+        clientCertificates = new HandshakeCertificates.Builder()
+                .addTrustedCertificate(certificate.certificate())
+                .build();
+
+        server = new MockWebServer();
+        server.useHttps(serverCertificates.sslSocketFactory(), false);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private OkHttpClient newClient() {
+        return newClient(EventListener.NONE);
+    }
+
+    private OkHttpClient newClient(EventListener listener) {
+        return new OkHttpClient.Builder()
+                .sslSocketFactory(clientCertificates.sslSocketFactory(), clientCertificates.trustManager())
+                .eventListener(listener)
+                .build();
+    }
+
+    /**
+     * Fetches the quotes endpoint and reads the whole body.
+     */
+    private void fetchFirstQuote(OkHttpClient client) throws IOException {
+        Request request = new Request.Builder().url(server.url("/quotes?limit=1&skip=0")).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(QUOTES_BODY, response.body().string());
+        }
+    }
+
+    @Test
+    public void firstCallReusesPreconnectedConnection() throws Exception {
+        OkHttpClient client = newClient();
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody(QUOTES_BODY));
+
+        assertTrue(new ConnectionWarmer(client).preconnect(server.url("/")));
+        assertEquals(1, client.connectionPool().idleConnectionCount());
+
+        fetchFirstQuote(client);
+
+        assertEquals("HEAD", server.takeRequest().getMethod());
+        // Second request on the same connection, so no new TCP/TLS handshake
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+        assertEquals(1, client.connectionPool().connectionCount());
+    }
+
+    @Test
+    public void preconnectFailsQuietlyWhenHostIsDown() throws IOException {
+        OkHttpClient client = newClient();
+        HttpUrl url = server.url("/");
+        server.shutdown();
+
+        assertFalse(new ConnectionWarmer(client).preconnect(url));
+    }
+
+    @Test
+    public void firstCallSkipsConnectOnlyWhenWarmed() throws Exception {
+        // Cold: the first call opens its own connection
+        ConnectCounter cold = new ConnectCounter();
+        server.enqueue(new MockResponse().setBody(QUOTES_BODY));
+        fetchFirstQuote(newClient(cold));
+        assertEquals(1, cold.connectStarts.get());
+        assertEquals(1, cold.connectionsAcquired.get());
+
+        // Warm: the pre-connect is not seen by the client's listener, and the
+        // real call takes the pooled connection without a TCP or TLS handshake
+        ConnectCounter warm = new ConnectCounter();
+        OkHttpClient warmClient = newClient(warm);
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody(QUOTES_BODY));
+        assertTrue(new ConnectionWarmer(warmClient).preconnect(server.url("/")));
+        fetchFirstQuote(warmClient);
+        assertEquals(0, warm.connectStarts.get());
+        assertEquals(0, warm.secureConnectStarts.get());
+        assertEquals(1, warm.connectionsAcquired.get());
+    }
+
+    /**
+     * Counts the connection events of the calls made through a client.
+     */
+    private static final class ConnectCounter extends EventListener {
+        final AtomicInteger connectStarts = new AtomicInteger();
+        final AtomicInteger secureConnectStarts = new AtomicInteger();
+        final AtomicInteger connectionsAcquired = new AtomicInteger();
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStarts.incrementAndGet();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStarts.incrementAndGet();
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            connectionsAcquired.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.dailyquotes_1.network;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
+import com.example.dailyquotes_1.repository.StreamingQuoteWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Streams quotes responses from a local mock server through the
+ * QuoteStream converter and checks them against Gson's full parse.
+ */
+public class QuoteStreamTest {
+
+    private static final String PAGE_BODY = "{\"quotes\":["
+            + "{\"id\":1,\"quote\":\"One\",\"author\":\"A\",\"tags\":[\"x\",{\"y\":1}]},"
+            + "null,"
+            + "{\"id\":2,\"quote\":null,\"author\":\"B\"},"
+            + "{\"id\":3,\"quote\":\"Three\",\"author\":\"C\"},"
+            + "{\"id\":4,\"quote\":\"Four\",\"author\":null},"
+            + "{\"id\":5,\"quote\":\"Five\",\"author\":\"E\",\"extra\":{\"n\":[1,2]}}],"
+            + "\"total\":1454,\"skip\":null,\"limit\":5,\"unknown\":{\"nested\":[null]}}";
+
+    private MockWebServer server;
+    private QuotesApiService service;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        service = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(new QuoteStreamConverterFactory())
+                .addConverterFactory(GsonConverterFactory.create(RetrofitClient.createGson()))
+                .build()
+                .create(QuotesApiService.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Records committed batches instead of writing them to the database.
+     */
+    private static final class RecordingWriter extends StreamingQuoteWriter {
+        final List<Integer> firstPositions = new ArrayList<>();
+        final List<List<Quote>> batches = new ArrayList<>();
+
+        RecordingWriter(int startPosition, int batchSize) {
+            super(null, startPosition, batchSize);
+        }
+
+        @Override
+        protected void commit(int firstPosition, List<Quote> batch) {
+            firstPositions.add(firstPosition);
+            batches.add(new ArrayList<>(batch));
+        }
+    }
+
+    private QuoteStream stream(String body) throws IOException {
+        server.enqueue(new MockResponse().setBody(body));
+        Response<QuoteStream> response = service.streamQuotes(0, 0).execute();
+        assertTrue(response.isSuccessful());
+        return response.body();
+    }
+
+    @Test
+    public void quotesArriveInOrderWithMetadata() throws IOException {
+        List<Quote> received = new ArrayList<>();
+
+        QuoteStream quoteStream = stream(PAGE_BODY);
+        QuoteResponse metadata = quoteStream.readQuotes(received::add);
+
+        // Same quotes as the full parse, minus the null element
+        List<Quote> expected = new ArrayList<>(
+                RetrofitClient.createGson().fromJson(PAGE_BODY, QuoteResponse.class).getQuotes());
+        expected.removeIf(Objects::isNull);
+        assertEquals(expected, received);
+        assertEquals(5, received.size());
+        assertEquals(1, received.get(0).getId());
+        assertEquals(5, received.get(4).getId());
+        assertEquals(5, quoteStream.getQuoteCount());
+
+        assertEquals(1454, metadata.getTotal());
+        assertEquals(0, metadata.getSkip());
+        assertEquals(5, metadata.getLimit());
+        assertTrue(metadata.getQuotes().isEmpty());
+    }
+
+    @Test
+    public void emptyOrNullQuotesDeliverNothing() throws IOException {
+        List<Quote> received = new ArrayList<>();
+
+        QuoteResponse empty = stream("{\"total\":0,\"quotes\":[],\"skip\":0,\"limit\":0}").readQuotes(received::add);
+        QuoteResponse missing = stream("{\"quotes\":null,\"total\":7}").readQuotes(received::add);
+
+        assertTrue(received.isEmpty());
+        assertEquals(0, empty.getTotal());
+        assertEquals(7, missing.getTotal());
+    }
+
+    @Test
+    public void writerCommitsFullBatchesThenTheRemainder() throws IOException {
+        RecordingWriter writer = new RecordingWriter(10, 2);
+
+        stream(PAGE_BODY).readQuotes(writer);
+        assertEquals(List.of(10, 12), writer.firstPositions);
+        assertEquals(4, writer.getWrittenCount());
+
+        writer.flush();
+        assertEquals(List.of(10, 12, 14), writer.firstPositions);
+        assertEquals(5, writer.getWrittenCount());
+
+        int position = 10;
+        int[] sizes = {2, 2, 1};
+        for (int i = 0; i < sizes.length; i++) {
+            List<Quote> batch = writer.batches.get(i);
+            assertEquals(sizes[i], batch.size());
+            for (Quote quote : batch) {
+                assertEquals(position++, quote.getPosition());
+                assertTrue(quote.getCachedAt() > 0);
+            }
+        }
+
+        // Nothing is left to commit
+        writer.flush();
+        assertEquals(3, writer.batches.size());
+    }
+}
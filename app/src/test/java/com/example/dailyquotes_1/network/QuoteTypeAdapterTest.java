@@ -0,0 +1,90 @@
+package com.example.dailyquotes_1.network;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that the specialised QuoteTypeAdapter / QuoteResponseTypeAdapter
+ * read the same objects as Gson's reflective adapter, which they replace.
+ */
+public class QuoteTypeAdapterTest {
+
+    private static final int[] PAGE_SIZES = {0, 1, 10, 1000};
+
+    private final Gson reflective = new GsonBuilder().setLenient().create();
+    private final Gson specialised = RetrofitClient.createGson();
+
+    /**
+     * Builds a DummyJSON-style page with numeric ids.
+     *
+     * @param count Number of quotes in the page
+     * @return JSON payload
+     */
+    private static String buildPayload(int count) {
+        StringBuilder json = new StringBuilder("{\"quotes\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1)
+                    .append(",\"quote\":\"Life isn't about getting and having, it's about giving and being. #")
+                    .append(i)
+                    .append("\",\"author\":\"Kevin Kruse\"}");
+        }
+        json.append("],\"total\":1454,\"skip\":0,\"limit\":").append(count).append('}');
+        return json.toString();
+    }
+
+    private void assertSameResponse(String payload) {
+        QuoteResponse expected = reflective.fromJson(payload, QuoteResponse.class);
+        QuoteResponse actual = specialised.fromJson(payload, QuoteResponse.class);
+
+        assertEquals(expected.getTotal(), actual.getTotal());
+        assertEquals(expected.getSkip(), actual.getSkip());
+        assertEquals(expected.getLimit(), actual.getLimit());
+        assertEquals(expected.getQuotes(), actual.getQuotes());
+    }
+
+    @Test
+    public void specialisedAdaptersMatchReflectiveParsing() {
+        for (int size : PAGE_SIZES) {
+            assertSameResponse(buildPayload(size));
+        }
+
+        QuoteResponse page = specialised.fromJson(buildPayload(10), QuoteResponse.class);
+        assertEquals(10, page.getQuotes().size());
+        assertEquals(1, page.getQuotes().get(0).getId());
+        assertEquals("Kevin Kruse", page.getQuotes().get(9).getAuthor());
+    }
+
+    @Test
+    public void unknownAndNullFieldsMatchReflectiveParsing() {
+        assertSameResponse("{\"quotes\":[{\"id\":\"3\",\"quote\":null,\"author\":\"a\",\"tags\":{\"x\":[1,2]}}],"
+                + "\"total\":1,\"skip\":null,\"limit\":1,\"extra\":\"ignored\"}");
+        assertSameResponse("{\"quotes\":null,\"total\":0}");
+
+        Quote random = specialised.fromJson("{\"id\":7,\"quote\":\"q\",\"author\":\"a\",\"extra\":[1]}", Quote.class);
+        assertEquals(reflective.fromJson("{\"id\":7,\"quote\":\"q\",\"author\":\"a\",\"extra\":[1]}", Quote.class),
+                random);
+        assertEquals(7, random.getId());
+        assertEquals("q", random.getContent());
+        assertNull(specialised.fromJson("null", Quote.class));
+    }
+
+    @Test
+    public void writtenQuoteReadsBack() {
+        Quote quote = specialised.fromJson("{\"id\":42,\"quote\":\"Be \\\"brief\\\"\",\"author\":\"B\"}", Quote.class);
+
+        Quote copy = specialised.fromJson(specialised.toJson(quote), Quote.class);
+
+        assertEquals(quote, copy);
+        assertEquals(copy, reflective.fromJson(specialised.toJson(quote), Quote.class));
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.dailyquotes_1.network;
+
+import com.example.dailyquotes_1.model.Quote;
+import com.example.dailyquotes_1.model.QuoteResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs coalesced calls against a local mock server that holds each response
+ * until the test releases it, so the calls are known to overlap.
+ */
+public class RequestCoalescerTest {
+
+    private static final String QUOTES_BODY =
+            "{\"quotes\":[{\"id\":1,\"quote\":\"Hello\",\"author\":\"A\"}],\"total\":1,\"skip\":0,\"limit\":1}";
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final CountDownLatch requestArrived = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private MockWebServer server;
+    private MockResponse response = new MockResponse().setBody(QUOTES_BODY);
+    private QuotesApiService service;
+    private RequestCoalescer coalescer;
+    private QuotesApiService api;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                requestArrived.countDown();
+                release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                return response;
+            }
+        });
+        server.start();
+
+        // No retry, so a dropped connection fails the call instead of repeating the request
+        OkHttpClient client = new OkHttpClient.Builder()
+                .retryOnConnectionFailure(false)
+                .build();
+        service = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(RetrofitClient.createGson()))
+                .build()
+                .create(QuotesApiService.class);
+        coalescer = new RequestCoalescer(Runnable::run);
+        api = new CoalescingQuotesApiService(service, coalescer);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        release.countDown();
+        callers.shutdownNow();
+        server.shutdown();
+    }
+
+    /**
+     * Records the outcome of an enqueued call.
+     */
+    private static final class RecordingCallback implements Callback<QuoteResponse> {
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Response<QuoteResponse> response;
+        volatile Throwable error;
+
+        @Override
+        public void onResponse(Call<QuoteResponse> call, Response<QuoteResponse> response) {
+            this.response = response;
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(Call<QuoteResponse> call, Throwable t) {
+            this.error = t;
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("callback not called", done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Starts a leading execute() and waits until its request reaches the server.
+     */
+    private Future<Response<QuoteResponse>> startLeader() throws InterruptedException {
+        Future<Response<QuoteResponse>> leader = callers.submit(() -> api.getQuotes(1, 0).execute());
+        assertTrue(requestArrived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return leader;
+    }
+
+    @Test
+    public void concurrentExecuteAndEnqueueShareOneRequest() throws Exception {
+        Future<Response<QuoteResponse>> leader = startLeader();
+        Future<Response<QuoteResponse>> executed = callers.submit(() -> api.getQuotes(1, 0).execute());
+        RecordingCallback enqueued = new RecordingCallback();
+        api.getQuotes(1, 0).enqueue(enqueued);
+        awaitCondition(() -> coalescer.getCoalescedCount() == 2);
+
+        release.countDown();
+
+        List<Quote> expected = leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).body().getQuotes();
+        assertEquals(1, expected.size());
+        assertEquals(expected, executed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).body().getQuotes());
+        enqueued.await();
+        assertEquals(expected, enqueued.response.body().getQuotes());
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(3, coalescer.getRequestCount());
+        assertEquals(1, coalescer.getNetworkCallCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void leaderFailureReachesEveryWaiter() throws Exception {
+        response = new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+        Future<Response<QuoteResponse>> leader = startLeader();
+        Future<Response<QuoteResponse>> executed = callers.submit(() -> api.getQuotes(1, 0).execute());
+        RecordingCallback enqueued = new RecordingCallback();
+        api.getQuotes(1, 0).enqueue(enqueued);
+        awaitCondition(() -> coalescer.getCoalescedCount() == 2);
+
+        release.countDown();
+
+        for (Future<Response<QuoteResponse>> call : List.of(leader, executed)) {
+            try {
+                call.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                fail("expected the shared failure");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+        enqueued.await();
+        assertNull(enqueued.response);
+        assertTrue(enqueued.error instanceof IOException);
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void cancellingOneOfSeveralWaitersKeepsTheFlight() throws Exception {
+        Future<Response<QuoteResponse>> leader = startLeader();
+        Call<QuoteResponse> follower = api.getQuotes(1, 0);
+        RecordingCallback cancelled = new RecordingCallback();
+        follower.enqueue(cancelled);
+
+        follower.cancel();
+
+        cancelled.await();
+        assertTrue(cancelled.error instanceof IOException);
+        assertTrue(follower.isCanceled());
+        assertEquals(1, coalescer.getInFlightCount());
+
+        release.countDown();
+        Response<QuoteResponse> led = leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(led.isSuccessful());
+        assertEquals(1, led.body().getQuotes().size());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void cancellingTheLastWaiterCancelsTheCallAndReleasesTheKey() throws Exception {
+        List<Call<QuoteResponse>> underlying = new CopyOnWriteArrayList<>();
+        String key = "quotes?limit=1&skip=0";
+        Call<QuoteResponse> first = coalescer.wrap(key, () -> {
+            Call<QuoteResponse> call = service.getQuotes(1, 0);
+            underlying.add(call);
+            return call;
+        });
+        Call<QuoteResponse> second = coalescer.wrap(key, () -> service.getQuotes(1, 0));
+        RecordingCallback firstCallback = new RecordingCallback();
+        RecordingCallback secondCallback = new RecordingCallback();
+        first.enqueue(firstCallback);
+        second.enqueue(secondCallback);
+        assertTrue(requestArrived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        first.cancel();
+        assertFalse(underlying.get(0).isCanceled());
+        assertEquals(1, coalescer.getInFlightCount());
+
+        second.cancel();
+        assertTrue(underlying.get(0).isCanceled());
+        assertEquals(0, coalescer.getInFlightCount());
+        firstCallback.await();
+        secondCallback.await();
+        assertTrue(firstCallback.error instanceof IOException);
+        assertTrue(secondCallback.error instanceof IOException);
+
+        // The key is free again: the next call starts a flight of its own
+        api.getQuotes(1, 0).enqueue(new RecordingCallback());
+        assertEquals(2, coalescer.getNetworkCallCount());
+        assertEquals(1, coalescer.getInFlightCount());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.dailyquotes_1.repository;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Simulates scrolling the whole catalogue over modelled links
+ * (latency = rtt + items * msPerItem) and checks the page sizes chosen.
+ */
+public class AdaptivePageSizerTest {
+
+    private static final int CATALOGUE_SIZE = 1454;
+    private static final int FIXED_PAGE_SIZE = 10;
+
+    /**
+     * Pages through the catalogue, feeding each modelled latency back to the sizer.
+     *
+     * @return Number of requests needed
+     */
+    private static int requestsToScrollAll(AdaptivePageSizer sizer, double rttMs, double msPerItem) {
+        int requests = 0;
+        for (int skip = 0; skip < CATALOGUE_SIZE; ) {
+            int limit = sizer.nextLimit();
+            int items = Math.min(limit, CATALOGUE_SIZE - skip);
+            sizer.recordSample(items, Math.round(rttMs + items * msPerItem));
+            skip += limit;
+            requests++;
+        }
+        return requests;
+    }
+
+    @Test
+    public void firstRequestUsesMinimumLimit() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 100, 1500);
+        assertEquals(10, sizer.nextLimit());
+    }
+
+    @Test
+    public void fastHighLatencyLinkGrowsPages() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 100, 1500);
+        int requests = requestsToScrollAll(sizer, 300, 1);
+
+        int fixedRequests = (CATALOGUE_SIZE + FIXED_PAGE_SIZE - 1) / FIXED_PAGE_SIZE;
+        assertEquals(100, sizer.nextLimit());
+        assertTrue("requests=" + requests, requests * 5 < fixedRequests);
+    }
+
+    @Test
+    public void slowLinkKeepsPagesSmall() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 100, 1500);
+        requestsToScrollAll(sizer, 300, 50);
+
+        assertEquals(10, sizer.nextLimit());
+        assertEquals(300, sizer.getRttMs(), 1.0);
+        assertEquals(20, sizer.getItemsPerSecond(), 0.5);
+    }
+
+    @Test
+    public void boundsAreRespected() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer(10, 100, 1500);
+        requestsToScrollAll(sizer, 300, 1);
+        sizer.setLimitBounds(5, 40);
+        assertEquals(40, sizer.nextLimit());
+    }
+}
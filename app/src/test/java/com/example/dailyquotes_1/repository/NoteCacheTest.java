@@ -0,0 +1,99 @@
+package com.example.dailyquotes_1.repository;
+
+import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.model.NoteSummary;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks byte-bounded LRU eviction, invalidation and the counters of the
+ * note cache.
+ */
+public class NoteCacheTest {
+
+    private static Note note(long id, int descriptionLength) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < descriptionLength; i++) {
+            description.append('x');
+        }
+        return new Note(id, new byte[16], "T", description.toString(), 1L, 1L);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedByBytesNotCount() {
+        Note small = note(1, 10);
+        Note big = note(2, 1000);
+        NoteCache cache = new NoteCache(NoteCache.sizeOf(small) + NoteCache.sizeOf(big));
+
+        cache.put(small, cache.getGeneration());
+        cache.put(big, cache.getGeneration());
+        assertNotNull(cache.get(1));
+
+        // Note 2 is now the least recently used, so it makes room for note 3
+        cache.put(note(3, 10), cache.getGeneration());
+
+        assertNotNull(cache.get(1));
+        assertNull(cache.get(2));
+        assertNotNull(cache.get(3));
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.getSizeBytes() <= NoteCache.sizeOf(small) + NoteCache.sizeOf(big));
+    }
+
+    @Test
+    public void noteLargerThanTheCacheIsNotCached() {
+        NoteCache cache = new NoteCache(NoteCache.sizeOf(note(1, 10)));
+
+        cache.put(note(1, 11), cache.getGeneration());
+
+        assertEquals(0, cache.getCount());
+        assertEquals(0, cache.getSizeBytes());
+    }
+
+    @Test
+    public void readThatRacedWithAWriteIsNotCached() {
+        NoteCache cache = new NoteCache(1 << 20);
+        long generation = cache.getGeneration();
+
+        // A write lands between the database read and the put
+        cache.invalidate(7);
+        cache.put(note(7, 10), generation);
+
+        assertNull(cache.get(7));
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        NoteCache cache = new NoteCache(1 << 20);
+        cache.put(note(1, 10), cache.getGeneration());
+
+        cache.get(1);
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.75, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void onlyCompletePreviewsRebuildTheNote() {
+        StringBuilder preview = new StringBuilder();
+        for (int i = 0; i < NoteSummary.PREVIEW_LENGTH - 1; i++) {
+            preview.append('x');
+        }
+        NoteSummary complete = new NoteSummary(1, new byte[16], "T", preview.toString(), 1L, 2L);
+        NoteSummary cut = new NoteSummary(2, new byte[16], "T", preview + "x", 1L, 2L);
+
+        assertTrue(complete.hasFullDescription());
+        assertFalse(cut.hasFullDescription());
+        assertEquals(preview.toString(), complete.toNote().getDescription());
+        assertEquals(2L, complete.toNote().getUpdatedAt());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.dailyquotes_1.repository;
+
+import com.example.dailyquotes_1.model.Note;
+import com.example.dailyquotes_1.util.UuidBytes;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the JSON Lines encoding used by note export and import.
+ */
+public class NoteTransferTest {
+
+    @Test
+    public void noteRoundTripsThroughOneLine() throws IOException {
+        Note note = new Note(0, UuidBytes.random(), "Groceries", "Milk\nEggs \"large\"\n\u00e9clair",
+                1700000000000L, 1700000500000L);
+
+        String line = NoteTransfer.toJsonLine(note);
+        assertTrue(line.indexOf('\n') < 0);
+
+        assertEquals(note, NoteTransfer.fromJsonLine(line, 0));
+    }
+
+    @Test
+    public void exportedIdIsTheUuidNotTheRowId() throws IOException {
+        Note note = new Note(42, UuidBytes.random(), "T", "D", 1L, 1L);
+
+        Note imported = NoteTransfer.fromJsonLine(NoteTransfer.toJsonLine(note), 0);
+
+        assertEquals(0, imported.getId());
+        assertArrayEquals(note.getUuid(), imported.getUuid());
+    }
+
+    @Test
+    public void nonUuidIdsMapToTheSameUuidEveryTime() {
+        Note first = NoteTransfer.fromJsonLine("{\"id\":\"n-1\"}", 0);
+        Note second = NoteTransfer.fromJsonLine("{\"id\":\"n-1\"}", 0);
+
+        assertArrayEquals(first.getUuid(), second.getUuid());
+        assertArrayEquals(UuidBytes.fromString("n-1"), first.getUuid());
+    }
+
+    @Test
+    public void missingFieldsGetDefaultsAndUnknownFieldsAreIgnored() {
+        Note note = NoteTransfer.fromJsonLine(
+                "{\"title\":\"T\",\"description\":null,\"tags\":[\"a\",{\"b\":1}]}", 42L);
+
+        assertEquals("T", note.getTitle());
+        assertNull(note.getDescription());
+        assertEquals(UuidBytes.LENGTH, note.getUuid().length);
+        assertEquals(42L, note.getCreatedAt());
+        assertEquals(42L, note.getUpdatedAt());
+    }
+
+    @Test
+    public void malformedLinesAreRejected() {
+        assertNull(NoteTransfer.fromJsonLine("not json", 0));
+        assertNull(NoteTransfer.fromJsonLine("[1, 2]", 0));
+        assertNull(NoteTransfer.fromJsonLine("{\"created_at\":\"yesterday\"}", 0));
+    }
+}
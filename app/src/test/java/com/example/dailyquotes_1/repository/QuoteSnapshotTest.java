@@ -0,0 +1,109 @@
+package com.example.dailyquotes_1.repository;
+
+import com.example.dailyquotes_1.model.Quote;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Round-trips quotes through the binary cold-start snapshot file.
+ */
+public class QuoteSnapshotTest {
+
+    private static Quote quote(int id, String content, String author) {
+        Quote quote = new Quote(content, author);
+        quote.setId(id);
+        return quote;
+    }
+
+    @Test
+    public void roundTripsQuotesInOrder() throws IOException {
+        File file = File.createTempFile("snapshot", ".bin");
+        List<Quote> quotes = new ArrayList<>();
+        quotes.add(quote(1, "Life isn\u2019t about getting and having, it\u2019s about giving and being.", "Kevin Kruse"));
+        quotes.add(quote(2, "Whatever the mind can conceive and believe, it can achieve.", "Napoleon Hill"));
+        quotes.add(quote(42, "", null));
+
+        QuoteSnapshot.write(file, quotes);
+        QuoteSnapshot snapshot = QuoteSnapshot.open(file);
+
+        assertEquals(3, snapshot.size());
+        // Decode out of order, as rows are bound
+        assertEquals(quotes.get(1), snapshot.get(1));
+        assertEquals(quotes.get(0), snapshot.get(0));
+        assertEquals(42, snapshot.get(2).getId());
+        assertEquals("", snapshot.get(2).getAuthor());
+        file.delete();
+    }
+
+    @Test
+    public void replacingKeepsEarlierMappingReadable() throws IOException {
+        File file = File.createTempFile("snapshot", ".bin");
+        List<Quote> first = new ArrayList<>();
+        first.add(quote(1, "Old", "A"));
+        QuoteSnapshot.write(file, first);
+        QuoteSnapshot old = QuoteSnapshot.open(file);
+
+        List<Quote> second = new ArrayList<>();
+        second.add(quote(2, "New", "B"));
+        second.add(quote(3, "Newer", "C"));
+        QuoteSnapshot.write(file, second);
+
+        assertEquals("Old", old.get(0).getContent());
+        assertEquals(2, QuoteSnapshot.open(file).size());
+        file.delete();
+    }
+
+    @Test
+    public void rejectsMissingOrForeignFiles() throws IOException {
+        assertNull(QuoteSnapshot.open(new File("does-not-exist.bin")));
+
+        File file = File.createTempFile("snapshot", ".bin");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("not a snapshot file".getBytes("UTF-8"));
+        }
+        assertNull(QuoteSnapshot.open(file));
+        file.delete();
+    }
+
+    @Test
+    public void rejectsTruncatedOrCorruptFiles() throws IOException {
+        File file = File.createTempFile("snapshot", ".bin");
+        List<Quote> quotes = new ArrayList<>();
+        quotes.add(quote(1, "First", "A"));
+        quotes.add(quote(2, "Second", "B"));
+        QuoteSnapshot.write(file, quotes);
+        long length = file.length();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // Cut into the last record's author
+            raf.setLength(length - 1);
+            assertNull(QuoteSnapshot.open(file));
+
+            // Offset of the second record pointing past the end
+            raf.setLength(length);
+            raf.seek(16);
+            raf.writeInt((int) length);
+            assertNull(QuoteSnapshot.open(file));
+        }
+
+        // Writing replaces the file, so reopen it
+        QuoteSnapshot.write(file, quotes);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // Negative content length in the first record
+            raf.seek(20 + 4);
+            raf.writeInt(-1);
+            assertNull(QuoteSnapshot.open(file));
+        }
+        file.delete();
+    }
+}
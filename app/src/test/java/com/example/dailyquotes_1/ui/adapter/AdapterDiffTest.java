@@ -0,0 +1,173 @@
+package com.example.dailyquotes_1.ui.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.dailyquotes_1.model.NoteSummary;
+import com.example.dailyquotes_1.model.Quote;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the adapters' diff callbacks through DiffUtil, as AsyncListDiffer does
+ * on its background thread, and counts the resulting adapter notifications.
+ */
+public class AdapterDiffTest {
+
+    /**
+     * Records the updates a diff would dispatch to the adapter.
+     */
+    private static final class RecordingCallback implements ListUpdateCallback {
+        final List<Integer> changedPositions = new ArrayList<>();
+        int inserted;
+        int insertedAt = -1;
+        int removed;
+        int moved;
+
+        @Override
+        public void onInserted(int position, int count) {
+            inserted += count;
+            insertedAt = position;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            removed += count;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            moved++;
+        }
+
+        @Override
+        public void onChanged(int position, int count, @Nullable Object payload) {
+            for (int i = 0; i < count; i++) {
+                changedPositions.add(position + i);
+            }
+        }
+    }
+
+    private static <T> RecordingCallback diff(List<T> oldList, List<T> newList,
+                                              DiffUtil.ItemCallback<T> itemCallback) {
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldList.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newList.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areItemsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areContentsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+            }
+        });
+        RecordingCallback callback = new RecordingCallback();
+        result.dispatchUpdatesTo(callback);
+        return callback;
+    }
+
+    @NonNull
+    private static List<NotesAdapter.NoteItem> noteItems(int count) {
+        List<NotesAdapter.NoteItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            NoteSummary note = new NoteSummary(i + 1, new byte[16], "Title " + i, "Body " + i, 1000L - i, 1000L - i);
+            items.add(new NotesAdapter.NoteItem(note, null));
+        }
+        return items;
+    }
+
+    @Test
+    public void refreshWithOneEditedNoteRebindsExactlyOneRow() {
+        List<NotesAdapter.NoteItem> before = noteItems(50);
+        // A refresh reloads fresh objects for every row, only one of which was edited
+        List<NotesAdapter.NoteItem> after = noteItems(50);
+        after.set(17, new NotesAdapter.NoteItem(
+                new NoteSummary(18, new byte[16], "Title 17", "Edited body", 1000L - 17, 2000L), null));
+
+        RecordingCallback callback = diff(before, after, NotesAdapter.DIFF_CALLBACK);
+
+        assertEquals(1, callback.changedPositions.size());
+        assertEquals(17, (int) callback.changedPositions.get(0));
+        assertEquals(0, callback.inserted);
+        assertEquals(0, callback.removed);
+        assertEquals(0, callback.moved);
+    }
+
+    @Test
+    public void newNoteAtTopIsOneInsertAndNoRebinds() {
+        List<NotesAdapter.NoteItem> before = noteItems(20);
+        List<NotesAdapter.NoteItem> after = noteItems(20);
+        after.add(0, new NotesAdapter.NoteItem(new NoteSummary(100, new byte[16], "New", "Body", 5000L, 5000L), null));
+
+        RecordingCallback callback = diff(before, after, NotesAdapter.DIFF_CALLBACK);
+
+        assertEquals(1, callback.inserted);
+        assertEquals(0, callback.changedPositions.size());
+    }
+
+    private static List<Quote> quotePage(int firstId, int count) {
+        List<Quote> page = new ArrayList<>();
+        for (int id = firstId; id < firstId + count; id++) {
+            Quote quote = new Quote("Quote " + id, "Author " + id);
+            quote.setId(id);
+            page.add(quote);
+        }
+        return page;
+    }
+
+    @Test
+    public void appendedPageIsReportedByTheStoreWithoutDiffing() {
+        QuoteStore store = new QuoteStore();
+        store.merge(quotePage(1, 30));
+        // The next page overlaps the last two rows (page drift); one of them was edited
+        List<Quote> next = quotePage(29, 12);
+        next.get(1).setContent("Quote 30 (corrected)");
+
+        RecordingCallback callback = new RecordingCallback();
+        store.merge(next, callback);
+
+        assertEquals(40, store.size());
+        assertEquals(1, callback.changedPositions.size());
+        assertEquals(29, (int) callback.changedPositions.get(0));
+        assertEquals(10, callback.inserted);
+        assertEquals(30, callback.insertedAt);
+        assertEquals(0, callback.removed);
+    }
+
+    @Test
+    public void firstPageReplacingSnapshotRebindsOnlyChangedQuotes() {
+        List<Quote> snapshot = new ArrayList<>();
+        List<Quote> firstPage = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            Quote cached = new Quote("Quote " + i, "Author " + i);
+            cached.setId(i);
+            snapshot.add(cached);
+
+            Quote fresh = new Quote(i == 4 ? "Quote 4 (corrected)" : "Quote " + i, "Author " + i);
+            fresh.setId(i);
+            firstPage.add(fresh);
+        }
+
+        RecordingCallback callback = diff(snapshot, firstPage, QuotesAdapter.DIFF_CALLBACK);
+
+        assertEquals(1, callback.changedPositions.size());
+        assertEquals(3, (int) callback.changedPositions.get(0));
+    }
+}